@@ -1,5 +1,6 @@
 package com.example.multiplethreads.config;
 
+import com.example.multiplethreads.service.ShardCoordinator;
 import com.example.multiplethreads.service.ThreadCompletionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,14 +15,18 @@ import org.springframework.stereotype.Component;
 public class ApplicationConfig {
 
     private final ThreadCompletionService threadCompletionService;
+    private final ShardCoordinator shardCoordinator;
 
     @EventListener(ApplicationReadyEvent.class)
     public void onApplicationReady() {
         log.info("애플리케이션이 시작되었습니다.");
         log.info("사용 가능한 API 엔드포인트:");
         log.info("  GET  /api/threads/create-files-with-service-and-download - 서비스 기반 파일 생성 및 다운로드");
+        log.info("  GET  /api/threads/create-files-with-shards-and-download - 워커 인스턴스에 분배하여 파일 생성 및 다운로드");
+        log.info("  GET  /api/threads/shards/{taskId} - 워커용 샤드 생성 (압축된 ZIP 엔트리 반환)");
         log.info("  GET  /api/threads/create-files-with-failure-and-download - 실패 시나리오 테스트 (테스트용)");
-        log.info("  GET  /api/threads/system-info - 시스템 정보 조회");
+        log.info("  GET  /api/threads/system-info - 시스템 정보 조회 (스레드 풀, GC, 스레드별 CPU/할당, 버퍼 풀)");
+        log.info("  POST /api/threads/jfr-recording?durationSeconds=30 - JFR 기록 시작");
         log.info("  GET  /api/threads/health - 헬스체크");
     }
 
@@ -29,6 +34,7 @@ public class ApplicationConfig {
     public void onApplicationClosed() {
         log.info("애플리케이션이 종료됩니다. 리소스를 정리합니다...");
         threadCompletionService.shutdown();
+        shardCoordinator.shutdown();
         log.info("리소스 정리가 완료되었습니다.");
     }
 }
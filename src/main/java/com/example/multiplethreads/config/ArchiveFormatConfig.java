@@ -0,0 +1,40 @@
+package com.example.multiplethreads.config;
+
+import com.example.multiplethreads.util.ZipEntryCache;
+import com.example.multiplethreads.util.archive.ArchiveFormats;
+import com.example.multiplethreads.util.archive.CachedZipArchiveFormat;
+import com.example.multiplethreads.util.archive.TarGzipArchiveFormat;
+import com.example.multiplethreads.util.archive.TarZstdArchiveFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Configuration
+public class ArchiveFormatConfig {
+
+    /**
+     * 내용이 같은 ZIP 엔트리의 압축 결과 캐시 (압축 바이트 합계로 크기 제한)
+     */
+    @Bean
+    public ZipEntryCache zipEntryCache(
+            @Value("${app.archive.zip-entry-cache-max-size:32MB}") DataSize maxSize) {
+        return new ZipEntryCache(maxSize.toBytes());
+    }
+
+    /**
+     * 지원하는 압축 포맷 (기본값 ZIP)
+     */
+    @Bean
+    public ArchiveFormats archiveFormats(
+            ZipEntryCache zipEntryCache,
+            @Value("${app.archive.zstd.level:3}") int zstdLevel,
+            @Value("${app.archive.zstd.workers:2}") int zstdWorkers,
+            @Value("${app.archive.zstd.multithread-min-size:8MB}") DataSize zstdMultithreadMinSize) {
+        return new ArchiveFormats(
+            new CachedZipArchiveFormat(zipEntryCache),
+            new TarGzipArchiveFormat(),
+            new TarZstdArchiveFormat(zstdLevel, zstdWorkers, zstdMultithreadMinSize.toBytes())
+        );
+    }
+}
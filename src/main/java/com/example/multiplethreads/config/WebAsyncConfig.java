@@ -0,0 +1,49 @@
+package com.example.multiplethreads.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * 스트리밍 다운로드(StreamingResponseBody) 설정
+ * 압축은 응답을 쓰는 동안 이 스레드 풀에서 실행되므로, 기본 task executor(코어 8개)와 분리해 동시 다운로드 수만큼 둔다.
+ */
+@Configuration
+public class WebAsyncConfig implements WebMvcConfigurer {
+
+    private final int streamThreads;
+    private final int streamQueueCapacity;
+    private final Duration asyncTimeout;
+
+    public WebAsyncConfig(@Value("${app.download.stream-threads:64}") int streamThreads,
+                          @Value("${app.download.stream-queue-capacity:256}") int streamQueueCapacity,
+                          @Value("${app.download.async-timeout:120s}") Duration asyncTimeout) {
+        this.streamThreads = streamThreads;
+        this.streamQueueCapacity = streamQueueCapacity;
+        this.asyncTimeout = asyncTimeout;
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor downloadStreamExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(streamThreads);
+        executor.setMaxPoolSize(streamThreads);
+        executor.setQueueCapacity(streamQueueCapacity);
+        executor.setThreadNamePrefix("download-stream-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(downloadStreamExecutor());
+        // 압축이 오래 걸리는 큰 아카이브도 컨테이너 기본 타임아웃에 끊기지 않도록 명시
+        configurer.setDefaultTimeout(asyncTimeout.toMillis());
+    }
+}
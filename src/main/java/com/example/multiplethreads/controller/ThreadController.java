@@ -1,14 +1,25 @@
 package com.example.multiplethreads.controller;
 
+import com.example.multiplethreads.dto.ShardSegment;
+import com.example.multiplethreads.service.FileGenerationService;
+import com.example.multiplethreads.service.ShardCoordinator;
+import com.example.multiplethreads.service.SystemInfoService;
 import com.example.multiplethreads.service.ThreadCompletionService;
+import com.example.multiplethreads.util.archive.ArchiveFormat;
+import com.example.multiplethreads.util.archive.ArchiveWriter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
@@ -21,59 +32,55 @@ import java.util.Map;
 public class ThreadController {
 
     private final ThreadCompletionService threadCompletionService;
+    private final SystemInfoService systemInfoService;
+    private final ShardCoordinator shardCoordinator;
+    private final ObjectMapper objectMapper;
 
     /**
      * 각 task를 개별 서비스의 함수로 실행하고 압축하여 다운로드 (새로운 방식)
+     * 압축 포맷은 format 파라미터(zip, tar.gz, tar.zst) 또는 Accept 헤더로 선택 (기본값 zip)
      */
     @GetMapping("/create-files-with-service-and-download")
-    public ResponseEntity<byte[]> createFilesWithServiceAndDownload() {
+    public ResponseEntity<StreamingResponseBody> createFilesWithServiceAndDownload(
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         log.info("각 task를 개별 서비스의 함수로 실행하고 압축하여 다운로드합니다 (새로운 방식).");
         
+        ArchiveFormat archiveFormat;
+        try {
+            archiveFormat = threadCompletionService.resolveArchiveFormat(format, accept);
+        } catch (IllegalArgumentException e) {
+            return streamingErrorResponse(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        
         long startTime = System.currentTimeMillis();
         
         try {
-            // 새로운 서비스 기반 파일 생성 및 압축
-            byte[] zipData = threadCompletionService.createFilesWithServiceAndCompress();
+            // 새로운 서비스 기반 파일 생성 (압축은 응답 스트림에 바로 기록)
+            ArchiveWriter archiveWriter = threadCompletionService.prepareArchive(archiveFormat);
             
             long endTime = System.currentTimeMillis();
             long duration = endTime - startTime;
             
             // 파일명에 타임스탬프 추가
             String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            String filename = "service_generated_files_" + timestamp + ".zip";
+            String filename = "service_generated_files_" + timestamp + "." + archiveFormat.getFileExtension();
             
-            log.info("서비스 기반 파일 생성 및 압축 완료: {} (소요시간: {}ms)", filename, duration);
+            log.info("서비스 기반 파일 생성 완료, 압축하여 전송합니다: {} (소요시간: {}ms)", filename, duration);
             
-            // 파일 다운로드 응답 헤더 설정
+            // 파일 다운로드 응답 헤더 설정 (스트리밍이므로 Content-Length는 지정하지 않음)
             HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+            headers.setContentType(MediaType.parseMediaType(archiveFormat.getContentType()));
             headers.setContentDispositionFormData("attachment", filename);
-            headers.setContentLength(zipData.length);
             
+            StreamingResponseBody body = archiveWriter::writeTo;
             return ResponseEntity.ok()
                     .headers(headers)
-                    .body(zipData);
+                    .body(body);
             
         } catch (IOException e) {
             log.error("서비스 기반 파일 생성 및 압축 중 오류 발생", e);
-            
-            // 오류 발생 시 JSON 응답으로 변경
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("status", "error");
-            errorResponse.put("message", "서비스 기반 파일 생성 및 압축 중 오류가 발생했습니다: " + e.getMessage());
-            errorResponse.put("timestamp", System.currentTimeMillis());
-            
-            // JSON 응답을 위한 헤더 설정
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            
-            // JSON 문자열을 바이트 배열로 변환
-            String jsonResponse = "{\"status\":\"error\",\"message\":\"" + e.getMessage() + "\"}";
-            byte[] jsonBytes = jsonResponse.getBytes();
-            
-            return ResponseEntity.internalServerError()
-                    .headers(headers)
-                    .body(jsonBytes);
+            return streamingErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
         }
     }
 
@@ -111,24 +118,73 @@ public class ThreadController {
             
         } catch (IOException e) {
             log.error("실패 시나리오 테스트 중 오류 발생", e);
+            return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * 샤드 기반 파일 생성: 설정된 워커 인스턴스들에 작업을 분배하고 결과를 하나의 ZIP으로 병합하여 다운로드
+     */
+    @GetMapping("/create-files-with-shards-and-download")
+    public ResponseEntity<byte[]> createFilesWithShardsAndDownload() {
+        log.info("샤드 기반으로 파일을 생성하고 압축하여 다운로드합니다.");
+        
+        long startTime = System.currentTimeMillis();
+        
+        try {
+            byte[] zipData = threadCompletionService.createFilesWithShardsAndCompress();
             
-            // 오류 발생 시 JSON 응답으로 변경
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("status", "error");
-            errorResponse.put("message", "실패 시나리오 테스트 중 오류가 발생했습니다: " + e.getMessage());
-            errorResponse.put("timestamp", System.currentTimeMillis());
+            long duration = System.currentTimeMillis() - startTime;
             
-            // JSON 응답을 위한 헤더 설정
+            // 파일명에 타임스탬프 추가
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            String filename = "sharded_files_" + timestamp + ".zip";
+            
+            log.info("샤드 기반 파일 생성 및 압축 완료: {} (소요시간: {}ms)", filename, duration);
+            
+            // 파일 다운로드 응답 헤더 설정
             HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+            headers.setContentDispositionFormData("attachment", filename);
+            headers.setContentLength(zipData.length);
             
-            // JSON 문자열을 바이트 배열로 변환
-            String jsonResponse = "{\"status\":\"error\",\"message\":\"" + e.getMessage() + "\"}";
-            byte[] jsonBytes = jsonResponse.getBytes();
+            return ResponseEntity.ok()
+                    .headers(headers)
+                    .body(zipData);
             
-            return ResponseEntity.internalServerError()
+        } catch (IOException e) {
+            log.error("샤드 기반 파일 생성 및 압축 중 오류 발생", e);
+            return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    /**
+     * 워커 역할: 샤드(작업 하나)를 생성하고 raw DEFLATE 압축 데이터로 반환
+     * 엔트리 이름, CRC, 원본 크기는 응답 헤더로 전달한다.
+     */
+    @GetMapping("/shards/{taskId}")
+    public ResponseEntity<byte[]> createShard(@PathVariable int taskId) {
+        if (taskId < 1 || taskId > FileGenerationService.TASK_COUNT) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        try {
+            ShardSegment segment = threadCompletionService.createShardSegment(taskId);
+            
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+            headers.set(ShardCoordinator.FILE_NAME_HEADER, segment.getEntry().getName());
+            headers.set(ShardCoordinator.CRC_HEADER, String.valueOf(segment.getEntry().getCrc()));
+            headers.set(ShardCoordinator.UNCOMPRESSED_SIZE_HEADER, String.valueOf(segment.getEntry().getUncompressedSize()));
+            headers.setContentLength(segment.getEntry().getCompressedSize());
+            
+            return ResponseEntity.ok()
                     .headers(headers)
-                    .body(jsonBytes);
+                    .body(segment.getEntry().getCompressedData());
+            
+        } catch (IOException e) {
+            log.error("샤드 {} 생성 중 오류 발생", taskId, e);
+            return ResponseEntity.internalServerError().build();
         }
     }
 
@@ -144,10 +200,56 @@ public class ThreadController {
         systemInfo.put("maxMemory", Runtime.getRuntime().maxMemory());
         systemInfo.put("javaVersion", System.getProperty("java.version"));
         systemInfo.put("osName", System.getProperty("os.name"));
+        systemInfo.put("memory", systemInfoService.getMemoryInfo());
+        systemInfo.put("executor", threadCompletionService.getExecutorStats());
+        systemInfo.put("zipEntryCache", threadCompletionService.getZipEntryCacheStats());
+        systemInfo.put("garbageCollectors", systemInfoService.getGarbageCollectorInfo());
+        systemInfo.put("threads", systemInfoService.getThreadInfo());
+        systemInfo.put("bufferPools", systemInfoService.getBufferPoolInfo());
+        systemInfo.put("clusterWorkers", shardCoordinator.getWorkerStatus());
         
         return ResponseEntity.ok(systemInfo);
     }
 
+    /**
+     * JFR 기록 시작 (지정한 시간이 지나면 로컬 파일로 저장)
+     */
+    @PostMapping("/jfr-recording")
+    public ResponseEntity<Map<String, Object>> startJfrRecording(
+            @RequestParam(defaultValue = "30") int durationSeconds) {
+        Map<String, Object> response = new HashMap<>();
+        
+        if (durationSeconds <= 0 || durationSeconds > 3600) {
+            response.put("status", "error");
+            response.put("message", "durationSeconds는 1 ~ 3600 사이여야 합니다.");
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        try {
+            Path destination = systemInfoService.startJfrRecording(durationSeconds);
+            response.put("status", "started");
+            response.put("durationSeconds", durationSeconds);
+            response.put("file", destination.toString());
+            return ResponseEntity.ok(response);
+            
+        } catch (IllegalStateException e) {
+            // 이미 진행 중인 기록이 있으면 새로 시작하지 않고 기존 기록을 알려줌
+            response.put("status", "already-running");
+            response.put("message", e.getMessage());
+            Path active = systemInfoService.getActiveJfrRecordingFile();
+            if (active != null) {
+                response.put("file", active.toString());
+            }
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+            
+        } catch (IOException | RuntimeException e) {
+            log.error("JFR 기록 시작 중 오류 발생", e);
+            response.put("status", "error");
+            response.put("message", "JFR 기록 시작 중 오류가 발생했습니다: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+
     /**
      * 헬스체크
      */
@@ -159,4 +261,36 @@ public class ThreadController {
         
         return ResponseEntity.ok(health);
     }
+
+    /**
+     * 다운로드 API의 오류 응답 (메시지에 요청 값이 포함될 수 있으므로 Jackson으로 직렬화)
+     */
+    private ResponseEntity<byte[]> errorResponse(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(toErrorJson(message));
+    }
+
+    /**
+     * 스트리밍 다운로드 API의 오류 응답
+     */
+    private ResponseEntity<StreamingResponseBody> streamingErrorResponse(HttpStatus status, String message) {
+        byte[] json = toErrorJson(message);
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> out.write(json));
+    }
+
+    private byte[] toErrorJson(String message) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("status", "error");
+        errorResponse.put("message", message);
+        errorResponse.put("timestamp", System.currentTimeMillis());
+        
+        try {
+            return objectMapper.writeValueAsBytes(errorResponse);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("오류 응답 직렬화 실패", e);
+        }
+    }
 }
@@ -0,0 +1,18 @@
+package com.example.multiplethreads.dto;
+
+import com.example.multiplethreads.util.CompressedEntry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 샤드(작업 하나)의 결과: 압축된 ZIP 엔트리
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardSegment {
+    private int taskId;
+    private CompressedEntry entry;
+    private String workerUrl; // 로컬에서 생성한 경우 null
+}
@@ -13,6 +13,25 @@ import java.nio.file.Path;
 @Service
 public class FileGenerationService {
 
+    /**
+     * 작업 번호(1 ~ TASK_COUNT)별로 생성되는 파일 수
+     */
+    public static final int TASK_COUNT = 5;
+
+    /**
+     * 작업 번호에 해당하는 파일 생성 (샤드 단위 실행용)
+     */
+    public FileTaskResult createFileForTask(int taskId) throws IOException {
+        return switch (taskId) {
+            case 1 -> createReportFile(taskId);
+            case 2 -> createCsvFile(taskId);
+            case 3 -> createJsonFile(taskId);
+            case 4 -> createLogFile(taskId);
+            case 5 -> createMarkdownFile(taskId);
+            default -> throw new IllegalArgumentException("알 수 없는 작업 번호: " + taskId);
+        };
+    }
+
     /**
      * 텍스트 보고서 파일 생성
      */
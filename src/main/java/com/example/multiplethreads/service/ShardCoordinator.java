@@ -0,0 +1,310 @@
+package com.example.multiplethreads.service;
+
+import com.example.multiplethreads.dto.ShardSegment;
+import com.example.multiplethreads.util.CompressedEntry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 생성 작업(샤드)을 같은 애플리케이션의 워커 인스턴스들에 HTTP로 분배하는 코디네이터
+ * 워커가 실패하면 dead로 표시하고 다른 워커에 재분배하며, 남은 워커가 없으면 로컬에서 생성한다.
+ * HTTP 요청은 생성 작업용 스레드 풀과 분리된 I/O 전용 스레드 풀에서 실행하고,
+ * 재시도를 포함한 전체 처리 시간은 shard-deadline 안으로 제한한다.
+ */
+@Slf4j
+@Service
+public class ShardCoordinator {
+
+    public static final String SHARD_PATH = "/api/threads/shards/";
+    public static final String HEALTH_PATH = "/api/threads/health";
+
+    public static final String FILE_NAME_HEADER = "X-Shard-File-Name";
+    public static final String CRC_HEADER = "X-Shard-Crc";
+    public static final String UNCOMPRESSED_SIZE_HEADER = "X-Shard-Uncompressed-Size";
+
+    private final List<WorkerNode> workers = new ArrayList<>();
+    private final AtomicInteger nextWorker = new AtomicInteger();
+    private final long deadRetryMillis;
+    private final long requestTimeoutNanos;
+    private final long shardDeadlineNanos;
+    private final HttpClient httpClient;
+    private final ExecutorService ioExecutor;
+
+    /**
+     * 로컬에서 샤드를 생성하는 함수 (워커가 없을 때 사용)
+     */
+    @FunctionalInterface
+    public interface LocalShardGenerator {
+        ShardSegment generate(int taskId) throws IOException;
+    }
+
+    public ShardCoordinator(@Value("${app.cluster.workers:}") List<String> workerUrls,
+                            @Value("${app.cluster.request-timeout-seconds:10}") int requestTimeoutSeconds,
+                            @Value("${app.cluster.dead-retry-seconds:30}") int deadRetrySeconds,
+                            @Value("${app.cluster.shard-deadline-seconds:60}") int shardDeadlineSeconds,
+                            @Value("${app.cluster.io-threads:32}") int ioThreads) {
+        for (String url : workerUrls) {
+            if (url != null && !url.isBlank()) {
+                workers.add(new WorkerNode(url.trim().replaceAll("/+$", "")));
+            }
+        }
+        this.deadRetryMillis = Duration.ofSeconds(deadRetrySeconds).toMillis();
+        this.requestTimeoutNanos = Duration.ofSeconds(requestTimeoutSeconds).toNanos();
+        this.shardDeadlineNanos = Duration.ofSeconds(shardDeadlineSeconds).toNanos();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.ioExecutor = Executors.newFixedThreadPool(ioThreads, runnable -> {
+            Thread thread = new Thread(runnable, "shard-io-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(Math.min(5, requestTimeoutSeconds)))
+                .build();
+
+        if (!workers.isEmpty()) {
+            log.info("코디네이터 모드: 워커 {} 개 ({})", workers.size(),
+                    workers.stream().map(WorkerNode::getUrl).toList());
+        }
+    }
+
+    public boolean isCoordinator() {
+        return !workers.isEmpty();
+    }
+
+    /**
+     * 샤드들을 I/O 스레드 풀에서 동시에 처리하고 작업 순서대로 반환
+     * shard-deadline 안에 끝나지 않으면 남은 샤드를 취소하고 실패로 처리한다.
+     */
+    public List<ShardSegment> fetchShards(List<Integer> taskIds, LocalShardGenerator localGenerator) throws IOException {
+        long deadline = System.nanoTime() + shardDeadlineNanos;
+
+        List<Future<ShardSegment>> futures = new ArrayList<>();
+        for (int taskId : taskIds) {
+            futures.add(ioExecutor.submit(() -> fetchShard(taskId, localGenerator, deadline)));
+        }
+
+        try {
+            List<ShardSegment> segments = new ArrayList<>();
+            for (Future<ShardSegment> future : futures) {
+                segments.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            }
+            return segments;
+        } catch (TimeoutException e) {
+            throw new IOException("샤드 처리 시간 초과 (" + TimeUnit.NANOSECONDS.toSeconds(shardDeadlineNanos) + "초)", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw new IOException("샤드 처리 실패: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("샤드 처리 중 인터럽트");
+        } finally {
+            // 실패/시간 초과 시 진행 중인 샤드 취소 (완료된 샤드에는 영향 없음)
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * 샤드 하나를 정상 워커에 요청하고, 실패한 워커는 dead로 표시한 뒤 다른 워커에 재분배
+     * 요청마다 남은 시간을 남은 후보(워커 + 로컬)에 나눠 할당하므로, 응답하지 않는 워커가 있어도 다른 워커가 이어받을 시간이 남는다.
+     */
+    private ShardSegment fetchShard(int taskId, LocalShardGenerator localGenerator, long deadline) throws IOException {
+        Set<WorkerNode> tried = new HashSet<>();
+
+        WorkerNode worker;
+        while ((worker = nextAvailableWorker(tried, attemptTimeoutNanos(tried, deadline))) != null) {
+            long attemptTimeout = attemptTimeoutNanos(tried, deadline);
+            tried.add(worker);
+            if (attemptTimeout <= 0) {
+                break;
+            }
+            try {
+                ShardSegment segment = requestShard(worker, taskId, attemptTimeout);
+                worker.markHealthy();
+                worker.dispatchedShards.incrementAndGet();
+                return segment;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("샤드 " + taskId + " 처리가 취소되었습니다.");
+            } catch (Exception e) {
+                worker.markDead();
+                log.warn("워커 {} 에서 샤드 {} 처리 실패, 다른 워커로 재분배합니다: {}",
+                        worker.getUrl(), taskId, e.getMessage());
+            }
+        }
+
+        if (System.nanoTime() >= deadline) {
+            throw new IOException("샤드 " + taskId + " 처리 시간 초과");
+        }
+        if (isCoordinator()) {
+            log.warn("사용 가능한 워커가 없어 샤드 {} 를 로컬에서 생성합니다.", taskId);
+        }
+        return localGenerator.generate(taskId);
+    }
+
+    /**
+     * 남은 시간을 아직 시도하지 않은 워커 수 + 1(로컬 생성 몫)로 나눈 값과 요청 타임아웃 중 작은 값
+     */
+    private long attemptTimeoutNanos(Set<WorkerNode> tried, long deadline) {
+        long remaining = deadline - System.nanoTime();
+        int candidates = Math.max(0, workers.size() - tried.size()) + 1;
+        return Math.min(requestTimeoutNanos, remaining / candidates);
+    }
+
+    /**
+     * I/O 스레드 풀 종료
+     */
+    public void shutdown() {
+        ioExecutor.shutdownNow();
+    }
+
+    /**
+     * 워커별 상태 (healthy 여부, 처리한 샤드 수, 실패 횟수)
+     */
+    public List<Map<String, Object>> getWorkerStatus() {
+        List<Map<String, Object>> status = new ArrayList<>();
+        for (WorkerNode worker : workers) {
+            Map<String, Object> info = new LinkedHashMap<>();
+            info.put("url", worker.getUrl());
+            info.put("healthy", worker.healthy);
+            info.put("dispatchedShards", worker.dispatchedShards.get());
+            info.put("failures", worker.failures.get());
+            status.add(info);
+        }
+        return status;
+    }
+
+    /**
+     * round-robin으로 다음 워커 선택. dead 워커는 재시도 간격이 지났고 헬스체크에 성공하면 다시 사용
+     * 시작 위치만 공유 카운터에서 한 번 가져오고 모든 워커를 한 바퀴 확인한다.
+     * (반복마다 공유 카운터를 증가시키면 다른 스레드와 섞여 시도하지 않은 정상 워커를 건너뛸 수 있음)
+     */
+    private WorkerNode nextAvailableWorker(Set<WorkerNode> tried, long probeTimeoutNanos) {
+        int size = workers.size();
+        int start = nextWorker.getAndIncrement();
+        for (int i = 0; i < size; i++) {
+            WorkerNode worker = workers.get(Math.floorMod(start + i, size));
+            if (tried.contains(worker)) {
+                continue;
+            }
+            if (worker.healthy) {
+                return worker;
+            }
+            if (System.currentTimeMillis() - worker.deadSince >= deadRetryMillis) {
+                if (isAlive(worker, probeTimeoutNanos)) {
+                    log.info("워커 {} 가 복구되었습니다.", worker.getUrl());
+                    worker.markHealthy();
+                    return worker;
+                }
+                // 이미 dead인 워커이므로 실패 횟수는 늘리지 않고 다음 재시도 시각만 미룸
+                tried.add(worker);
+                worker.postponeRetry();
+            }
+        }
+        return null;
+    }
+
+    private boolean isAlive(WorkerNode worker, long timeoutNanos) {
+        if (timeoutNanos <= 0) {
+            return false;
+        }
+        try {
+            HttpResponse<Void> response = httpClient.send(
+                    HttpRequest.newBuilder(URI.create(worker.getUrl() + HEALTH_PATH))
+                            .timeout(Duration.ofNanos(Math.min(timeoutNanos, Duration.ofSeconds(2).toNanos())))
+                            .GET()
+                            .build(),
+                    HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() / 100 == 2;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private ShardSegment requestShard(WorkerNode worker, int taskId, long timeoutNanos)
+            throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(
+                HttpRequest.newBuilder(URI.create(worker.getUrl() + SHARD_PATH + taskId))
+                        .timeout(Duration.ofNanos(timeoutNanos))
+                        .GET()
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("워커 응답 상태 코드: " + response.statusCode());
+        }
+
+        HttpHeaders headers = response.headers();
+        String fileName = headers.firstValue(FILE_NAME_HEADER).orElse(null);
+        String crc = headers.firstValue(CRC_HEADER).orElse(null);
+        String uncompressedSize = headers.firstValue(UNCOMPRESSED_SIZE_HEADER).orElse(null);
+        byte[] compressedData = response.body();
+        if (fileName == null || crc == null || uncompressedSize == null || compressedData == null) {
+            throw new IOException("워커 응답에 샤드 정보가 없습니다.");
+        }
+
+        CompressedEntry entry = new CompressedEntry(
+                fileName, Long.parseLong(crc), Long.parseLong(uncompressedSize), compressedData);
+        // 헤더와 압축 데이터가 맞지 않으면 손상된 ZIP이 만들어지므로 이어 붙이기 전에 검증
+        entry.verify();
+        return new ShardSegment(taskId, entry, worker.getUrl());
+    }
+
+    private static class WorkerNode {
+        private final String url;
+        private final AtomicLong dispatchedShards = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private volatile boolean healthy = true;
+        private volatile long deadSince;
+
+        WorkerNode(String url) {
+            this.url = url;
+        }
+
+        String getUrl() {
+            return url;
+        }
+
+        void markHealthy() {
+            healthy = true;
+        }
+
+        void markDead() {
+            failures.incrementAndGet();
+            healthy = false;
+            deadSince = System.currentTimeMillis();
+        }
+
+        void postponeRetry() {
+            deadSince = System.currentTimeMillis();
+        }
+    }
+}
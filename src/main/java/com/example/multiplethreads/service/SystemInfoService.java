@@ -0,0 +1,239 @@
+package com.example.multiplethreads.service;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadInfo;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+public class SystemInfoService {
+
+    private final Path jfrOutputDir;
+    private final AtomicLong jfrRecordingSequence = new AtomicLong();
+    private Recording activeRecording;
+    // 컬렉터 이름 → GC 1회 소요 시간 통계 (GC 알림으로 갱신)
+    private final Map<String, GcPauseStats> gcPauses = new ConcurrentHashMap<>();
+    private final NotificationListener gcListener = this::onGarbageCollection;
+
+    public SystemInfoService(@Value("${app.jfr.output-dir:${java.io.tmpdir}}") String jfrOutputDir) {
+        this.jfrOutputDir = Paths.get(jfrOutputDir);
+
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcPauses.put(gc.getName(), new GcPauseStats());
+            if (gc instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(gcListener, null, null);
+            }
+        }
+    }
+
+    /**
+     * 힙/논힙 메모리 사용량
+     */
+    public Map<String, Object> getMemoryInfo() {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        MemoryUsage nonHeap = ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage();
+
+        Map<String, Object> memory = new LinkedHashMap<>();
+        memory.put("heapUsed", heap.getUsed());
+        memory.put("heapCommitted", heap.getCommitted());
+        memory.put("heapMax", heap.getMax());
+        memory.put("nonHeapUsed", nonHeap.getUsed());
+        memory.put("nonHeapCommitted", nonHeap.getCommitted());
+        return memory;
+    }
+
+    /**
+     * 컬렉터별 GC 횟수, 누적 GC 시간(ms), 마지막/최대 GC 소요 시간(ms)
+     * 소요 시간은 GC 알림의 GcInfo 기준이며, 애플리케이션 시작 이후 관측한 값이다.
+     * (G1 Young/Old 같은 STW 컬렉터는 일시 정지 시간, 동시 컬렉터는 사이클 시간)
+     */
+    public List<Map<String, Object>> getGarbageCollectorInfo() {
+        List<Map<String, Object>> collectors = new ArrayList<>();
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            GcPauseStats pauses = gcPauses.computeIfAbsent(gc.getName(), name -> new GcPauseStats());
+            Map<String, Object> collector = new LinkedHashMap<>();
+            collector.put("name", gc.getName());
+            collector.put("collectionCount", gc.getCollectionCount());
+            collector.put("collectionTimeMs", gc.getCollectionTime());
+            collector.put("lastPauseMs", pauses.lastPauseMs);
+            collector.put("maxPauseMs", pauses.maxPauseMs.get());
+            collector.put("observedPauses", pauses.count.get());
+            collectors.add(collector);
+        }
+        return collectors;
+    }
+
+    private void onGarbageCollection(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        gcPauses.computeIfAbsent(info.getGcName(), name -> new GcPauseStats())
+                .record(info.getGcInfo().getDuration());
+    }
+
+    /**
+     * 스레드별 CPU 시간과 할당 바이트
+     */
+    public List<Map<String, Object>> getThreadInfo() {
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean extendedBean = threadMXBean instanceof com.sun.management.ThreadMXBean bean
+                ? bean : null;
+
+        List<Map<String, Object>> threads = new ArrayList<>();
+        for (ThreadInfo info : threadMXBean.getThreadInfo(threadMXBean.getAllThreadIds())) {
+            if (info == null) {
+                continue; // 조회 도중 종료된 스레드
+            }
+            Map<String, Object> thread = new LinkedHashMap<>();
+            thread.put("id", info.getThreadId());
+            thread.put("name", info.getThreadName());
+            thread.put("state", info.getThreadState().name());
+            if (threadMXBean.isThreadCpuTimeSupported() && threadMXBean.isThreadCpuTimeEnabled()) {
+                thread.put("cpuTimeNs", threadMXBean.getThreadCpuTime(info.getThreadId()));
+            }
+            if (extendedBean != null && extendedBean.isThreadAllocatedMemorySupported()
+                    && extendedBean.isThreadAllocatedMemoryEnabled()) {
+                thread.put("allocatedBytes", extendedBean.getThreadAllocatedBytes(info.getThreadId()));
+            }
+            threads.add(thread);
+        }
+        return threads;
+    }
+
+    /**
+     * direct / mapped 버퍼 풀 사용량
+     */
+    public List<Map<String, Object>> getBufferPoolInfo() {
+        List<Map<String, Object>> pools = new ArrayList<>();
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            Map<String, Object> info = new LinkedHashMap<>();
+            info.put("name", pool.getName());
+            info.put("count", pool.getCount());
+            info.put("memoryUsed", pool.getMemoryUsed());
+            info.put("totalCapacity", pool.getTotalCapacity());
+            pools.add(info);
+        }
+        return pools;
+    }
+
+    /**
+     * 지정한 시간 동안 JFR 기록을 시작하고, 종료 시 로컬 파일로 저장
+     * 한 번에 하나의 기록만 허용한다.
+     *
+     * @throws IllegalStateException 이미 진행 중인 기록이 있는 경우
+     */
+    public synchronized Path startJfrRecording(int durationSeconds) throws IOException {
+        Path active = getActiveJfrRecordingFile();
+        if (active != null) {
+            throw new IllegalStateException("이미 진행 중인 JFR 기록이 있습니다: " + active);
+        }
+
+        Files.createDirectories(jfrOutputDir);
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS"));
+        Path destination = jfrOutputDir.resolve(
+                "recording_" + timestamp + "_" + jfrRecordingSequence.incrementAndGet() + ".jfr");
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration("profile");
+        } catch (ParseException e) {
+            throw new IOException("JFR 설정을 읽을 수 없습니다: " + e.getMessage(), e);
+        }
+
+        Recording recording = new Recording(configuration);
+        recording.setName("system-info-" + timestamp);
+        recording.setDuration(Duration.ofSeconds(durationSeconds));
+        recording.setDestination(destination); // duration 경과 후 자동으로 파일에 기록되고 닫힘
+        recording.start();
+        activeRecording = recording;
+
+        log.info("JFR 기록을 시작했습니다: {} ({}초)", destination, durationSeconds);
+        return destination;
+    }
+
+    /**
+     * 진행 중인 JFR 기록의 저장 파일 (없으면 null)
+     */
+    public synchronized Path getActiveJfrRecordingFile() {
+        if (activeRecording == null) {
+            return null;
+        }
+        RecordingState state = activeRecording.getState();
+        if (state == RecordingState.NEW || state == RecordingState.DELAYED || state == RecordingState.RUNNING) {
+            return activeRecording.getDestination();
+        }
+        activeRecording = null;
+        return null;
+    }
+
+    /**
+     * 애플리케이션 종료 시 GC 알림 리스너 해제
+     */
+    @PreDestroy
+    public void removeGcListener() {
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter emitter) {
+                try {
+                    emitter.removeNotificationListener(gcListener);
+                } catch (ListenerNotFoundException e) {
+                    // 이미 해제됨
+                }
+            }
+        }
+    }
+
+    /**
+     * 애플리케이션 종료 시 진행 중인 기록 정리
+     */
+    @PreDestroy
+    public synchronized void closeJfrRecording() {
+        if (activeRecording != null) {
+            activeRecording.close();
+            activeRecording = null;
+        }
+    }
+
+    private static class GcPauseStats {
+        private volatile long lastPauseMs;
+        private final AtomicLong maxPauseMs = new AtomicLong();
+        private final AtomicLong count = new AtomicLong();
+
+        void record(long durationMs) {
+            lastPauseMs = durationMs;
+            maxPauseMs.accumulateAndGet(durationMs, Math::max);
+            count.incrementAndGet();
+        }
+    }
+}
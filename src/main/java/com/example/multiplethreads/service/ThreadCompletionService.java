@@ -1,19 +1,29 @@
 package com.example.multiplethreads.service;
 
 import com.example.multiplethreads.dto.FileTaskResult;
+import com.example.multiplethreads.dto.ShardSegment;
+import com.example.multiplethreads.util.CompressedEntry;
 import com.example.multiplethreads.util.FileUtil;
+import com.example.multiplethreads.util.ZipEntryCache;
+import com.example.multiplethreads.util.archive.ArchiveFormat;
+import com.example.multiplethreads.util.archive.ArchiveFormats;
+import com.example.multiplethreads.util.archive.ArchiveSource;
+import com.example.multiplethreads.util.archive.ArchiveWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 @Slf4j
@@ -22,7 +32,12 @@ import java.util.concurrent.TimeUnit;
 public class ThreadCompletionService {
 
     private final FileGenerationService fileGenerationService;
-    private final ExecutorService executorService = Executors.newFixedThreadPool(
+    private final ShardCoordinator shardCoordinator;
+    // 지원하는 압축 포맷 (기본값 ZIP)
+    private final ArchiveFormats archiveFormats;
+    // 반복 내보내기 시 내용이 같은 엔트리의 압축 결과를 재사용 (ZIP 포맷, 샤드 생성에서 공유)
+    private final ZipEntryCache zipEntryCache;
+    private final ThreadPoolExecutor executorService = (ThreadPoolExecutor) Executors.newFixedThreadPool(
         Runtime.getRuntime().availableProcessors()
     );
 
@@ -30,37 +45,109 @@ public class ThreadCompletionService {
      * 각 task를 개별 서비스의 함수로 실행하고 압축하여 반환
      */
     public byte[] createFilesWithServiceAndCompress() throws IOException {
-        log.info("각 task를 개별 서비스의 함수로 실행하고 압축합니다...");
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        prepareArchive(archiveFormats.getDefault()).writeTo(baos);
+        return baos.toByteArray();
+    }
+
+    /**
+     * 각 task를 개별 서비스의 함수로 실행하고, 지정한 포맷으로 압축해 기록할 writer를 반환
+     * 파일 생성은 여기서 끝나므로 생성 실패는 응답을 시작하기 전에 예외로 전달된다.
+     * 압축은 writer가 호출될 때 출력 스트림으로 바로 기록하며, 임시 파일은 기록이 끝나면 정리한다.
+     */
+    public ArchiveWriter prepareArchive(ArchiveFormat format) throws IOException {
+        log.info("각 task를 개별 서비스의 함수로 실행하고 {} 포맷으로 압축합니다...", format.getName());
         
+        // 모든 task 실행
+        FileTaskResult[] results = executeAllTasks();
+        
+        // 모든 task가 성공했으므로 모든 파일을 압축 (엔트리 이름은 작업별 파일 이름)
+        List<ArchiveSource> sources = new ArrayList<>();
         List<Path> filePaths = new ArrayList<>();
+        for (FileTaskResult result : results) {
+            sources.add(new ArchiveSource(result.getFileName(), result.getFilePath()));
+            filePaths.add(result.getFilePath());
+            log.info("파일 생성 성공: {} (크기: {} bytes)", result.getFileName(), result.getFileSize());
+        }
         
+        return out -> {
+            try {
+                log.info("총 {} 개의 파일을 압축합니다.", sources.size());
+                format.write(sources, out);
+                log.info("압축 완료 ({})", format.getName());
+            } finally {
+                // 임시 파일들 정리
+                FileUtil.cleanupTempFiles(filePaths);
+                log.info("임시 파일 {} 개를 정리했습니다.", filePaths.size());
+            }
+        };
+    }
+
+    /**
+     * 작업 하나를 실행하고 압축 엔트리로 변환. 생성된 내용이 이전과 같으면 압축하지 않고 캐시된 엔트리를 재사용한다.
+     */
+    private CompressedEntry generateEntry(int taskId) throws IOException {
+        FileTaskResult result = fileGenerationService.createFileForTask(taskId);
         try {
-            // 모든 task 실행
-            FileTaskResult[] results = executeAllTasks();
+            String fingerprint = ZipEntryCache.fingerprint(result.getFileName(), result.getFilePath());
+            return zipEntryCache.getOrCompress(fingerprint,
+                    () -> CompressedEntry.compress(result.getFileName(), result.getFilePath()));
+        } finally {
+            FileUtil.cleanupTempFiles(List.of(result.getFilePath()));
+        }
+    }
+
+    /**
+     * format 파라미터 또는 Accept 헤더로 압축 포맷 선택
+     *
+     * @throws IllegalArgumentException 지원하지 않는 format 파라미터
+     */
+    public ArchiveFormat resolveArchiveFormat(String formatName, String acceptHeader) {
+        return archiveFormats.resolve(formatName, acceptHeader);
+    }
+
+    /**
+     * 각 task를 샤드로 워커 인스턴스들에 분배하고, 돌려받은 압축 엔트리를 하나의 ZIP으로 이어 붙여 반환
+     * 워커가 설정되지 않았거나 모두 응답하지 않으면 로컬에서 생성한다.
+     */
+    public byte[] createFilesWithShardsAndCompress() throws IOException {
+        log.info("샤드 기반으로 파일을 생성하고 압축합니다 (코디네이터 모드: {})...", shardCoordinator.isCoordinator());
+        
+        List<Integer> taskIds = new ArrayList<>();
+        for (int taskId = 1; taskId <= FileGenerationService.TASK_COUNT; taskId++) {
+            taskIds.add(taskId);
+        }
+        
+        try {
+            // 샤드 요청은 코디네이터의 I/O 전용 스레드 풀에서 동시에 처리
+            List<ShardSegment> segments = shardCoordinator.fetchShards(taskIds, this::createShardSegment);
             
-            // 모든 task가 성공했으므로 모든 파일을 압축
-            for (FileTaskResult result : results) {
-                filePaths.add(result.getFilePath());
-                log.info("파일 생성 성공: {} (크기: {} bytes)", result.getFileName(), result.getFileSize());
+            // 작업 번호 순서대로 엔트리를 이어 붙임
+            List<CompressedEntry> entries = new ArrayList<>();
+            for (ShardSegment segment : segments) {
+                entries.add(segment.getEntry());
+                log.info("샤드 {} 완료: {} (워커: {})", segment.getTaskId(), segment.getEntry().getName(),
+                        segment.getWorkerUrl() != null ? segment.getWorkerUrl() : "로컬");
             }
             
-            log.info("총 {} 개의 파일을 압축합니다.", filePaths.size());
-            
-            // 파일들을 ZIP으로 압축
-            byte[] zipData = FileUtil.createZipArchive(filePaths);
-            log.info("압축 완료: {} bytes", zipData.length);
-            
-            return zipData;
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            FileUtil.spliceZipArchive(entries, baos);
+            log.info("샤드 병합 완료: {} bytes", baos.size());
+            return baos.toByteArray();
             
-        } finally {
-            // 임시 파일들 정리
-            if (!filePaths.isEmpty()) {
-                FileUtil.cleanupTempFiles(filePaths);
-                log.info("임시 파일 {} 개를 정리했습니다.", filePaths.size());
-            }
+        } catch (IOException e) {
+            log.error("샤드 실행 중 오류 발생", e);
+            throw new IOException("샤드 실행 실패: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * 샤드 하나(작업 하나)를 이 인스턴스에서 생성하고 압축된 엔트리로 반환 (워커 역할)
+     */
+    public ShardSegment createShardSegment(int taskId) throws IOException {
+        return new ShardSegment(taskId, generateEntry(taskId), null);
+    }
+
     /**
      * 각 task를 개별 서비스의 함수로 실행
      */
@@ -152,6 +239,35 @@ public class ThreadCompletionService {
         }
     }
 
+    /**
+     * 작업 스레드 풀의 현재 상태
+     */
+    public Map<String, Object> getExecutorStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("corePoolSize", executorService.getCorePoolSize());
+        stats.put("poolSize", executorService.getPoolSize());
+        stats.put("activeCount", executorService.getActiveCount());
+        stats.put("largestPoolSize", executorService.getLargestPoolSize());
+        stats.put("queueSize", executorService.getQueue().size());
+        stats.put("completedTaskCount", executorService.getCompletedTaskCount());
+        stats.put("taskCount", executorService.getTaskCount());
+        stats.put("shutdown", executorService.isShutdown());
+        return stats;
+    }
+
+    /**
+     * 작업별 압축 엔트리 캐시 상태
+     */
+    public Map<String, Object> getZipEntryCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", zipEntryCache.size());
+        stats.put("totalBytes", zipEntryCache.getTotalBytes());
+        stats.put("maxBytes", zipEntryCache.getMaxBytes());
+        stats.put("hits", zipEntryCache.getHits());
+        stats.put("misses", zipEntryCache.getMisses());
+        return stats;
+    }
+
     /**
      * 애플리케이션 종료 시 리소스 정리
      */
@@ -0,0 +1,99 @@
+package com.example.multiplethreads.util;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * 압축된 ZIP 엔트리 하나 (엔트리 이름 + raw DEFLATE 바이트 + CRC + 원본 크기)
+ */
+@Getter
+@RequiredArgsConstructor
+public class CompressedEntry {
+
+    private static final int BUFFER_SIZE = 64 * 1024; // 64KB
+
+    private final String name;
+    private final long crc;
+    private final long uncompressedSize;
+    private final byte[] compressedData;
+
+    /**
+     * 파일을 버퍼 단위로 읽으면서 CRC 계산과 raw DEFLATE 압축을 함께 수행
+     */
+    public static CompressedEntry compress(String name, Path file) throws IOException {
+        CRC32 crc32 = new CRC32();
+        long size = 0;
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+             DeflaterOutputStream out = new DeflaterOutputStream(compressed, deflater, BUFFER_SIZE)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int bytesRead;
+            while ((bytesRead = in.read(buffer)) != -1) {
+                crc32.update(buffer, 0, bytesRead);
+                out.write(buffer, 0, bytesRead);
+                size += bytesRead;
+            }
+            out.finish();
+        } finally {
+            deflater.end();
+        }
+
+        return new CompressedEntry(name, crc32.getValue(), size, compressed.toByteArray());
+    }
+
+    /**
+     * 압축 데이터를 풀어 CRC와 원본 크기가 기록된 값과 같은지 확인
+     *
+     * @throws ZipException 압축 데이터가 손상되었거나 CRC/크기가 다름
+     */
+    public void verify() throws IOException {
+        CRC32 crc32 = new CRC32();
+        long size = 0;
+        Inflater inflater = new Inflater(true);
+
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(compressedData), inflater, BUFFER_SIZE)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int bytesRead;
+            while ((bytesRead = in.read(buffer)) != -1) {
+                crc32.update(buffer, 0, bytesRead);
+                size += bytesRead;
+            }
+            if (!inflater.finished()) {
+                throw new ZipException("압축 데이터가 잘렸습니다: " + name);
+            }
+        } catch (ZipException e) {
+            throw e;
+        } catch (IOException e) {
+            throw new ZipException("압축 데이터가 손상되었습니다: " + name + " (" + e.getMessage() + ")");
+        } finally {
+            inflater.end();
+        }
+
+        if (size != uncompressedSize) {
+            throw new ZipException("원본 크기 불일치: " + name + " (기록 " + uncompressedSize + ", 실제 " + size + ")");
+        }
+        if (crc32.getValue() != crc) {
+            throw new ZipException("CRC 불일치: " + name);
+        }
+    }
+
+    public long getCompressedSize() {
+        return compressedData.length;
+    }
+}
@@ -1,17 +1,36 @@
 package com.example.multiplethreads.util;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
 import java.util.zip.ZipOutputStream;
 
 public class FileUtil {
 
     private static final int BUFFER_SIZE = 64 * 1024; // 64KB
 
+    // ZIP 포맷 상수 (APPNOTE.TXT)
+    private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_DIRECTORY_SIGNATURE = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP_VERSION = 20;
+    private static final int ZIP64_VERSION = 45;
+    private static final int ZIP64_EXTRA_ID = 0x0001;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+    private static final int UTF8_NAME_FLAG = 0x0800;
+    private static final int METHOD_DEFLATED = 8;
+
     public static void copyFile(Path source, Path destination) throws IOException {
         // Ensure parent directories exist
         Files.createDirectories(destination.getParent());
@@ -61,6 +80,170 @@ public class FileUtil {
         }
     }
 
+    /**
+     * 이미 압축된 엔트리들을 재압축 없이 하나의 ZIP으로 이어 붙여 out에 기록 (out은 닫지 않음)
+     * 크기/오프셋/엔트리 수가 32비트(16비트) 필드를 넘으면 ZIP64 레코드를 사용한다.
+     */
+    public static void spliceZipArchive(List<CompressedEntry> entries, OutputStream out) throws IOException {
+        CountingOutputStream zip = new CountingOutputStream(out);
+        ByteArrayOutputStream centralDirectory = new ByteArrayOutputStream();
+        Set<String> names = new HashSet<>();
+        int dosTime = toDosTime(LocalDateTime.now());
+
+        for (CompressedEntry entry : entries) {
+            if (!names.add(entry.getName())) {
+                throw new ZipException("duplicate entry: " + entry.getName());
+            }
+            byte[] name = entry.getName().getBytes(StandardCharsets.UTF_8);
+            long localHeaderOffset = zip.getCount();
+            boolean zip64Sizes = entry.getUncompressedSize() >= ZIP64_MAGIC || entry.getCompressedSize() >= ZIP64_MAGIC;
+            boolean zip64Offset = localHeaderOffset >= ZIP64_MAGIC;
+
+            // Local file header
+            writeInt(zip, LOCAL_FILE_HEADER_SIGNATURE);
+            writeShort(zip, zip64Sizes ? ZIP64_VERSION : ZIP_VERSION);
+            writeShort(zip, UTF8_NAME_FLAG);
+            writeShort(zip, METHOD_DEFLATED);
+            writeInt(zip, dosTime);
+            writeInt(zip, (int) entry.getCrc());
+            writeInt(zip, zip64Sizes ? (int) ZIP64_MAGIC : (int) entry.getCompressedSize());
+            writeInt(zip, zip64Sizes ? (int) ZIP64_MAGIC : (int) entry.getUncompressedSize());
+            writeShort(zip, name.length);
+            writeShort(zip, zip64Sizes ? 20 : 0);
+            zip.write(name);
+            if (zip64Sizes) {
+                writeShort(zip, ZIP64_EXTRA_ID);
+                writeShort(zip, 16);
+                writeLong(zip, entry.getUncompressedSize());
+                writeLong(zip, entry.getCompressedSize());
+            }
+            zip.write(entry.getCompressedData());
+
+            // Central directory header (ZIP64 extra에는 넘친 값만 순서대로 기록)
+            int extraLength = (zip64Sizes ? 16 : 0) + (zip64Offset ? 8 : 0);
+            writeInt(centralDirectory, CENTRAL_DIRECTORY_SIGNATURE);
+            writeShort(centralDirectory, ZIP64_VERSION);
+            writeShort(centralDirectory, extraLength > 0 ? ZIP64_VERSION : ZIP_VERSION);
+            writeShort(centralDirectory, UTF8_NAME_FLAG);
+            writeShort(centralDirectory, METHOD_DEFLATED);
+            writeInt(centralDirectory, dosTime);
+            writeInt(centralDirectory, (int) entry.getCrc());
+            writeInt(centralDirectory, zip64Sizes ? (int) ZIP64_MAGIC : (int) entry.getCompressedSize());
+            writeInt(centralDirectory, zip64Sizes ? (int) ZIP64_MAGIC : (int) entry.getUncompressedSize());
+            writeShort(centralDirectory, name.length);
+            writeShort(centralDirectory, extraLength > 0 ? extraLength + 4 : 0);
+            writeShort(centralDirectory, 0); // comment length
+            writeShort(centralDirectory, 0); // disk number
+            writeShort(centralDirectory, 0); // internal attributes
+            writeInt(centralDirectory, 0);   // external attributes
+            writeInt(centralDirectory, zip64Offset ? (int) ZIP64_MAGIC : (int) localHeaderOffset);
+            centralDirectory.write(name);
+            if (extraLength > 0) {
+                writeShort(centralDirectory, ZIP64_EXTRA_ID);
+                writeShort(centralDirectory, extraLength);
+                if (zip64Sizes) {
+                    writeLong(centralDirectory, entry.getUncompressedSize());
+                    writeLong(centralDirectory, entry.getCompressedSize());
+                }
+                if (zip64Offset) {
+                    writeLong(centralDirectory, localHeaderOffset);
+                }
+            }
+        }
+
+        long centralDirectoryOffset = zip.getCount();
+        long centralDirectorySize = centralDirectory.size();
+        centralDirectory.writeTo(zip);
+
+        boolean zip64End = entries.size() >= ZIP64_MAGIC_COUNT
+                || centralDirectorySize >= ZIP64_MAGIC
+                || centralDirectoryOffset >= ZIP64_MAGIC;
+        if (zip64End) {
+            long zip64EndOffset = zip.getCount();
+
+            // ZIP64 end of central directory record
+            writeInt(zip, ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE);
+            writeLong(zip, 44); // 이 필드 이후 레코드 크기
+            writeShort(zip, ZIP64_VERSION);
+            writeShort(zip, ZIP64_VERSION);
+            writeInt(zip, 0);
+            writeInt(zip, 0);
+            writeLong(zip, entries.size());
+            writeLong(zip, entries.size());
+            writeLong(zip, centralDirectorySize);
+            writeLong(zip, centralDirectoryOffset);
+
+            // ZIP64 end of central directory locator
+            writeInt(zip, ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE);
+            writeInt(zip, 0);
+            writeLong(zip, zip64EndOffset);
+            writeInt(zip, 1);
+        }
+
+        // End of central directory record
+        writeInt(zip, END_OF_CENTRAL_DIRECTORY_SIGNATURE);
+        writeShort(zip, 0);
+        writeShort(zip, 0);
+        writeShort(zip, zip64End ? ZIP64_MAGIC_COUNT : entries.size());
+        writeShort(zip, zip64End ? ZIP64_MAGIC_COUNT : entries.size());
+        writeInt(zip, zip64End ? (int) ZIP64_MAGIC : (int) centralDirectorySize);
+        writeInt(zip, zip64End ? (int) ZIP64_MAGIC : (int) centralDirectoryOffset);
+        writeShort(zip, 0);
+        zip.flush();
+    }
+
+    private static int toDosTime(LocalDateTime time) {
+        return (time.getYear() - 1980) << 25
+                | time.getMonthValue() << 21
+                | time.getDayOfMonth() << 16
+                | time.getHour() << 11
+                | time.getMinute() << 5
+                | time.getSecond() >> 1;
+    }
+
+    private static void writeShort(OutputStream out, int value) throws IOException {
+        out.write(value & 0xff);
+        out.write((value >>> 8) & 0xff);
+    }
+
+    private static void writeInt(OutputStream out, int value) throws IOException {
+        writeShort(out, value);
+        writeShort(out, value >>> 16);
+    }
+
+    private static void writeLong(OutputStream out, long value) throws IOException {
+        writeInt(out, (int) value);
+        writeInt(out, (int) (value >>> 32));
+    }
+
+    /**
+     * 기록한 바이트 수(엔트리 오프셋)를 세는 스트림
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+
     /**
      * 임시 디렉토리에 파일 생성
      */
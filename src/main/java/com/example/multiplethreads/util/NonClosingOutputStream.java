@@ -0,0 +1,26 @@
+package com.example.multiplethreads.util;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * close 시 flush만 하고 감싼 스트림은 닫지 않는 스트림
+ * 압축 스트림을 닫아 트레일러를 기록하되 호출자의 스트림(응답 등)은 열어 둘 때 사용한다.
+ */
+public class NonClosingOutputStream extends FilterOutputStream {
+
+    public NonClosingOutputStream(OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.multiplethreads.util;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 엔트리 이름 + 내용의 해시(fingerprint) → 압축된 엔트리 인덱스
+ * 생성된 내용이 같으면 이전에 압축한 바이트를 그대로 재사용한다.
+ * 압축 바이트 합계 기준 LRU로 크기를 제한한다.
+ */
+public class ZipEntryCache {
+
+    private static final int BUFFER_SIZE = 64 * 1024; // 64KB
+
+    /**
+     * 캐시에 없을 때 엔트리를 압축하는 함수
+     */
+    @FunctionalInterface
+    public interface EntryCompressor {
+        CompressedEntry compress() throws IOException;
+    }
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, CompressedEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public ZipEntryCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 엔트리 이름과 파일 내용의 SHA-256 (파일은 버퍼 단위로 읽음)
+     */
+    public static String fingerprint(String name, Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+
+        digest.update(name.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int bytesRead;
+            while ((bytesRead = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, bytesRead);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * 같은 fingerprint의 압축 결과가 있으면 재사용하고, 없으면 압축 후 인덱스에 저장
+     */
+    public CompressedEntry getOrCompress(String fingerprint, EntryCompressor compressor) throws IOException {
+        synchronized (this) {
+            CompressedEntry cached = entries.get(fingerprint);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+
+        // 압축은 락 밖에서 수행
+        CompressedEntry compressed = compressor.compress();
+        misses.incrementAndGet();
+        put(fingerprint, compressed);
+        return compressed;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    private synchronized void put(String fingerprint, CompressedEntry entry) {
+        long entryBytes = entry.getCompressedSize();
+        if (entryBytes > maxBytes) {
+            return; // 한도보다 큰 엔트리는 저장하지 않음
+        }
+
+        CompressedEntry previous = entries.put(fingerprint, entry);
+        if (previous != null) {
+            totalBytes -= previous.getCompressedSize();
+        }
+        totalBytes += entryBytes;
+
+        // 가장 오래 사용되지 않은 엔트리부터 제거
+        Iterator<CompressedEntry> eldest = entries.values().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getCompressedSize();
+            eldest.remove();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.multiplethreads.util.archive;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * 압축 포맷 SPI: 여러 파일을 하나의 아카이브로 만들어 스트림에 기록
+ */
+public interface ArchiveFormat {
+
+    /**
+     * 쿼리 파라미터로 지정하는 포맷 이름 (예: zip, tar.gz, tar.zst)
+     */
+    String getName();
+
+    /**
+     * Accept 헤더 매칭 및 응답 Content-Type에 사용하는 MIME 타입
+     */
+    String getContentType();
+
+    /**
+     * 다운로드 파일명 확장자 (점 제외)
+     */
+    default String getFileExtension() {
+        return getName();
+    }
+
+    /**
+     * 파일들을 아카이브로 만들어 out에 기록 (out은 닫지 않음)
+     */
+    void write(List<ArchiveSource> sources, OutputStream out) throws IOException;
+}
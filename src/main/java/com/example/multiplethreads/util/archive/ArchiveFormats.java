@@ -0,0 +1,78 @@
+package com.example.multiplethreads.util.archive;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 사용 가능한 압축 포맷 목록. 쿼리 파라미터 또는 Accept 헤더로 포맷을 선택한다.
+ */
+public class ArchiveFormats {
+
+    private final Map<String, ArchiveFormat> formats = new LinkedHashMap<>();
+    private final ArchiveFormat defaultFormat;
+
+    public ArchiveFormats(ArchiveFormat defaultFormat, ArchiveFormat... others) {
+        this.defaultFormat = defaultFormat;
+        formats.put(defaultFormat.getName(), defaultFormat);
+        for (ArchiveFormat format : others) {
+            formats.put(format.getName(), format);
+        }
+    }
+
+    public ArchiveFormat getDefault() {
+        return defaultFormat;
+    }
+
+    /**
+     * 포맷 선택: format 파라미터가 있으면 우선, 없으면 Accept 헤더에서 q 값이 가장 높은 일치 MIME 타입
+     * (q=0은 "허용하지 않음"이므로 제외), 둘 다 없으면 기본 포맷
+     *
+     * @throws IllegalArgumentException 지원하지 않는 format 파라미터
+     */
+    public ArchiveFormat resolve(String formatName, String acceptHeader) {
+        if (formatName != null && !formatName.isBlank()) {
+            ArchiveFormat format = formats.get(formatName.trim().toLowerCase(Locale.ROOT));
+            if (format == null) {
+                throw new IllegalArgumentException("지원하지 않는 압축 포맷입니다: " + formatName
+                        + " (지원: " + String.join(", ", formats.keySet()) + ")");
+            }
+            return format;
+        }
+
+        for (MediaType mediaType : acceptedMediaTypes(acceptHeader)) {
+            for (ArchiveFormat format : formats.values()) {
+                if (mediaType.equalsTypeAndSubtype(MediaType.parseMediaType(format.getContentType()))) {
+                    return format;
+                }
+            }
+        }
+
+        return defaultFormat;
+    }
+
+    /**
+     * Accept 헤더의 미디어 타입을 q 값 내림차순으로 정렬 (같은 q 값은 헤더 순서 유지, 잘못된 헤더는 무시)
+     */
+    private static List<MediaType> acceptedMediaTypes(String acceptHeader) {
+        if (acceptHeader == null || acceptHeader.isBlank()) {
+            return List.of();
+        }
+
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = new ArrayList<>(MediaType.parseMediaTypes(acceptHeader));
+        } catch (InvalidMediaTypeException e) {
+            return List.of();
+        }
+        mediaTypes.removeIf(mediaType -> mediaType.getQualityValue() <= 0);
+        mediaTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        return mediaTypes;
+    }
+}
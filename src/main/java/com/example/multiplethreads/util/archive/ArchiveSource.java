@@ -0,0 +1,24 @@
+package com.example.multiplethreads.util.archive;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.file.Path;
+
+/**
+ * 아카이브에 넣을 파일 하나 (아카이브 안의 엔트리 이름 + 내용이 담긴 파일)
+ */
+@Getter
+@RequiredArgsConstructor
+public class ArchiveSource {
+
+    private final String name;
+    private final Path file;
+
+    /**
+     * 파일 이름을 그대로 엔트리 이름으로 사용
+     */
+    public static ArchiveSource of(Path file) {
+        return new ArchiveSource(file.getFileName().toString(), file);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.multiplethreads.util.archive;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 준비가 끝난 압축 파일을 출력 스트림에 기록 (응답으로 바로 스트리밍할 때 사용)
+ */
+@FunctionalInterface
+public interface ArchiveWriter {
+
+    /**
+     * 압축 파일을 out에 기록. 임시 파일 등 준비 단계의 자원은 기록이 끝나면 정리한다.
+     */
+    void writeTo(OutputStream out) throws IOException;
+}
@@ -0,0 +1,44 @@
+package com.example.multiplethreads.util.archive;
+
+import com.example.multiplethreads.util.CompressedEntry;
+import com.example.multiplethreads.util.FileUtil;
+import com.example.multiplethreads.util.ZipEntryCache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ZIP (DEFLATE) 포맷, 엔트리 캐시 사용
+ * 엔트리 이름과 내용이 이전과 같으면 재압축하지 않고 캐시된 압축 바이트를 그대로 이어 붙인다.
+ */
+public class CachedZipArchiveFormat implements ArchiveFormat {
+
+    private final ZipEntryCache cache;
+
+    public CachedZipArchiveFormat(ZipEntryCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public String getName() {
+        return "zip";
+    }
+
+    @Override
+    public String getContentType() {
+        return "application/zip";
+    }
+
+    @Override
+    public void write(List<ArchiveSource> sources, OutputStream out) throws IOException {
+        List<CompressedEntry> entries = new ArrayList<>();
+        for (ArchiveSource source : sources) {
+            String fingerprint = ZipEntryCache.fingerprint(source.getName(), source.getFile());
+            entries.add(cache.getOrCompress(fingerprint,
+                    () -> CompressedEntry.compress(source.getName(), source.getFile())));
+        }
+        FileUtil.spliceZipArchive(entries, out);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.multiplethreads.util.archive;
+
+import com.example.multiplethreads.util.NonClosingOutputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * tar + 스트림 압축 포맷의 공통 구현. 하위 클래스는 압축 스트림만 제공한다.
+ */
+public abstract class TarArchiveFormat implements ArchiveFormat {
+
+    /**
+     * out을 감싸는 압축 스트림 생성 (close 시 압축을 마무리해야 함)
+     *
+     * @param inputBytes 압축할 파일 크기 합계
+     */
+    protected abstract OutputStream compress(OutputStream out, long inputBytes) throws IOException;
+
+    @Override
+    public void write(List<ArchiveSource> sources, OutputStream out) throws IOException {
+        long inputBytes = 0;
+        for (ArchiveSource source : sources) {
+            if (Files.exists(source.getFile())) {
+                inputBytes += Files.size(source.getFile());
+            }
+        }
+
+        // tar/압축 스트림을 닫아 트레일러를 기록하되, 호출자의 out은 닫지 않음
+        try (TarArchiveOutputStream tar = new TarArchiveOutputStream(
+                compress(new NonClosingOutputStream(out), inputBytes))) {
+            tar.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+            for (ArchiveSource source : sources) {
+                if (Files.exists(source.getFile())) {
+                    TarArchiveEntry entry = new TarArchiveEntry(source.getFile().toFile(), source.getName());
+                    tar.putArchiveEntry(entry);
+                    Files.copy(source.getFile(), tar);
+                    tar.closeArchiveEntry();
+                }
+            }
+            tar.finish();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.multiplethreads.util.archive;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * tar + gzip 포맷
+ */
+public class TarGzipArchiveFormat extends TarArchiveFormat {
+
+    private static final int BUFFER_SIZE = 64 * 1024; // 64KB
+
+    @Override
+    public String getName() {
+        return "tar.gz";
+    }
+
+    @Override
+    public String getContentType() {
+        return "application/gzip";
+    }
+
+    @Override
+    protected OutputStream compress(OutputStream out, long inputBytes) throws IOException {
+        return new GZIPOutputStream(out, BUFFER_SIZE);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.multiplethreads.util.archive;
+
+import com.github.luben.zstd.ZstdOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * tar + zstd 포맷
+ * 입력이 multithreadMinBytes 이상일 때만 zstd 내부 워커 스레드로 멀티스레드 압축한다.
+ * (작은 입력은 zstd 작업 단위보다 작아 워커 스레드가 오버헤드만 늘림)
+ */
+public class TarZstdArchiveFormat extends TarArchiveFormat {
+
+    private final int level;
+    private final int workers;
+    private final long multithreadMinBytes;
+
+    public TarZstdArchiveFormat(int level, int workers, long multithreadMinBytes) {
+        this.level = level;
+        this.workers = workers;
+        this.multithreadMinBytes = multithreadMinBytes;
+    }
+
+    @Override
+    public String getName() {
+        return "tar.zst";
+    }
+
+    @Override
+    public String getContentType() {
+        return "application/zstd";
+    }
+
+    @Override
+    protected OutputStream compress(OutputStream out, long inputBytes) throws IOException {
+        ZstdOutputStream zstd = new ZstdOutputStream(out, level);
+        if (workers > 1 && inputBytes >= multithreadMinBytes) {
+            zstd.setWorkers(workers);
+        }
+        return zstd;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.multiplethreads.util.archive;
+
+import com.example.multiplethreads.util.NonClosingOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * ZIP (DEFLATE) 포맷, 매번 모든 엔트리를 압축
+ */
+public class ZipArchiveFormat implements ArchiveFormat {
+
+    @Override
+    public String getName() {
+        return "zip";
+    }
+
+    @Override
+    public String getContentType() {
+        return "application/zip";
+    }
+
+    @Override
+    public void write(List<ArchiveSource> sources, OutputStream out) throws IOException {
+        try (ZipOutputStream zos = new ZipOutputStream(new NonClosingOutputStream(out))) {
+            for (ArchiveSource source : sources) {
+                if (Files.exists(source.getFile())) {
+                    zos.putNextEntry(new ZipEntry(source.getName()));
+                    Files.copy(source.getFile(), zos);
+                    zos.closeEntry();
+                }
+            }
+            zos.finish();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.multiplethreads.benchmark;
+
+import com.example.multiplethreads.util.FileUtil;
+import com.example.multiplethreads.util.archive.ArchiveFormat;
+import com.example.multiplethreads.util.archive.ArchiveFormats;
+import com.example.multiplethreads.util.archive.ArchiveSource;
+import com.example.multiplethreads.util.archive.TarGzipArchiveFormat;
+import com.example.multiplethreads.util.archive.TarZstdArchiveFormat;
+import com.example.multiplethreads.util.archive.ZipArchiveFormat;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 압축 포맷별 처리량과 압축률 비교
+ *
+ * 실행: mvn -Pjmh verify -DskipTests
+ * 압축률은 trial 시작 시 포맷별로 한 번 출력된다.
+ * zip은 엔트리 캐시를 거치지 않는 ZipArchiveFormat으로 측정하고,
+ * tar.zst는 애플리케이션 기본 설정(워커 2개, 8MB 이상일 때만 멀티스레드)을 사용한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArchiveFormatBenchmark {
+
+    private static final int FILE_COUNT = 5;
+
+    @Param({"zip", "tar.gz", "tar.zst"})
+    private String format;
+
+    @Param({"1024", "4096"})
+    private int fileSizeKb;
+
+    private ArchiveFormat archiveFormat;
+    private List<Path> files;
+    private List<ArchiveSource> sources;
+    private long inputBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ArchiveFormats formats = new ArchiveFormats(
+                new ZipArchiveFormat(),
+                new TarGzipArchiveFormat(),
+                new TarZstdArchiveFormat(3, 2, 8L * 1024 * 1024));
+        archiveFormat = formats.resolve(format, null);
+
+        files = new ArrayList<>();
+        sources = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < FILE_COUNT; i++) {
+            Path file = FileUtil.createTempFile("bench_" + i + "_", ".csv", csvContent(random, fileSizeKb * 1024));
+            files.add(file);
+            sources.add(ArchiveSource.of(file));
+            inputBytes += Files.size(file);
+        }
+
+        long archiveBytes = archive().length;
+        System.out.printf("%n[%s] 입력 %d bytes → 출력 %d bytes (압축률 %.2f%%)%n",
+                format, inputBytes, archiveBytes, archiveBytes * 100.0 / inputBytes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        FileUtil.cleanupTempFiles(files);
+    }
+
+    @Benchmark
+    public byte[] compress() throws IOException {
+        return archive();
+    }
+
+    private byte[] archive() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        archiveFormat.write(sources, out);
+        return out.toByteArray();
+    }
+
+    private static String csvContent(Random random, int size) {
+        StringBuilder sb = new StringBuilder(size + 64);
+        sb.append("ID,Name,Value\n");
+        for (int row = 1; sb.length() < size; row++) {
+            sb.append(row).append(",Item").append(random.nextInt(1000)).append(',').append(random.nextInt(100_000)).append('\n');
+        }
+        return sb.toString();
+    }
+}
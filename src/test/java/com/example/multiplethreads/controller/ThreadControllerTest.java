@@ -0,0 +1,146 @@
+package com.example.multiplethreads.controller;
+
+import com.example.multiplethreads.service.SystemInfoService;
+import com.github.luben.zstd.ZstdInputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ThreadControllerTest {
+
+    private static final Set<String> GENERATED_FILES =
+            Set.of("report.txt", "data.csv", "config.json", "log.log", "summary.md");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SystemInfoService systemInfoService;
+
+    @AfterEach
+    void closeJfrRecording() {
+        systemInfoService.closeJfrRecording();
+    }
+
+    @Test
+    void testSystemInfoResponseShape() throws Exception {
+        // 부하 테스트 하네스가 파싱하는 필드 포함
+        mockMvc.perform(get("/api/threads/system-info"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.memory.heapUsed").isNumber())
+                .andExpect(jsonPath("$.executor.poolSize").isNumber())
+                .andExpect(jsonPath("$.executor.activeCount").isNumber())
+                .andExpect(jsonPath("$.executor.queueSize").isNumber())
+                .andExpect(jsonPath("$.executor.completedTaskCount").isNumber())
+                .andExpect(jsonPath("$.zipEntryCache.hits").isNumber())
+                .andExpect(jsonPath("$.garbageCollectors").isArray())
+                .andExpect(jsonPath("$.garbageCollectors[0].name").isString())
+                .andExpect(jsonPath("$.garbageCollectors[0].collectionCount").isNumber())
+                .andExpect(jsonPath("$.garbageCollectors[0].collectionTimeMs").isNumber())
+                .andExpect(jsonPath("$.garbageCollectors[0].lastPauseMs").isNumber())
+                .andExpect(jsonPath("$.garbageCollectors[0].maxPauseMs").isNumber())
+                .andExpect(jsonPath("$.threads").isArray())
+                .andExpect(jsonPath("$.threads[0].name").isString())
+                .andExpect(jsonPath("$.bufferPools").isArray())
+                .andExpect(jsonPath("$.bufferPools[0].memoryUsed").isNumber());
+    }
+
+    @Test
+    void testOnlyOneJfrRecordingAtATime() throws Exception {
+        mockMvc.perform(post("/api/threads/jfr-recording").param("durationSeconds", "60"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("started"));
+
+        mockMvc.perform(post("/api/threads/jfr-recording").param("durationSeconds", "60"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value("already-running"))
+                .andExpect(jsonPath("$.file").isString());
+    }
+
+    @Test
+    void testJfrRecordingRejectsInvalidDuration() throws Exception {
+        mockMvc.perform(post("/api/threads/jfr-recording").param("durationSeconds", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testUnknownFormatReturnsValidJson() throws Exception {
+        // 요청 값이 메시지에 그대로 들어가도 JSON이 깨지지 않아야 함
+        String format = "x\",\"status\":\"ok";
+        MvcResult result = mockMvc.perform(get("/api/threads/create-files-with-service-and-download")
+                        .param("format", format))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value("error"))
+                .andExpect(jsonPath("$.message").value(containsString(format)));
+    }
+
+    @Test
+    void testDownloadStreamsSelectedFormat() throws Exception {
+        byte[] body = download(get("/api/threads/create-files-with-service-and-download").param("format", "tar.gz"),
+                "application/gzip");
+
+        assertEquals(GENERATED_FILES, tarEntryNames(new GZIPInputStream(new ByteArrayInputStream(body))));
+    }
+
+    @Test
+    void testDownloadSelectsFormatFromAcceptHeader() throws Exception {
+        byte[] body = download(get("/api/threads/create-files-with-service-and-download")
+                        .header(HttpHeaders.ACCEPT, "application/zip;q=0, application/zstd;q=0.9, application/gzip;q=0.5"),
+                "application/zstd");
+
+        assertEquals(GENERATED_FILES, tarEntryNames(new ZstdInputStream(new ByteArrayInputStream(body))));
+    }
+
+    private byte[] download(MockHttpServletRequestBuilder requestBuilder, String contentType) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(contentType))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private static Set<String> tarEntryNames(InputStream in) throws Exception {
+        Set<String> names = new HashSet<>();
+        try (TarArchiveInputStream tar = new TarArchiveInputStream(in)) {
+            TarArchiveEntry entry;
+            while ((entry = tar.getNextEntry()) != null) {
+                assertTrue(tar.readAllBytes().length > 0, entry.getName());
+                names.add(entry.getName());
+            }
+        }
+        return names;
+    }
+}
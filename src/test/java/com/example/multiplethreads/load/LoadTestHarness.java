@@ -0,0 +1,340 @@
+package com.example.multiplethreads.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Recorder;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로컬에서 실행 중인 애플리케이션의 다운로드 엔드포인트에 단계적으로 동시성을 올리며 부하를 주는 하네스
+ *
+ * 실행: mvn -B -Pload-test verify -DskipTests -Dload.baseUrl=http://localhost:8080
+ *
+ * 설정 (시스템 프로퍼티):
+ *   load.baseUrl            대상 애플리케이션 주소 (기본값 http://localhost:8080)
+ *   load.startConcurrency   시작 동시성 (기본값 1)
+ *   load.maxConcurrency     최대 동시성 (기본값 64, 단계마다 2배씩 증가)
+ *   load.stepSeconds        단계별 측정 시간 (기본값 20)
+ *   load.failureRatio       실패 시나리오 엔드포인트 요청 비율 0.0 ~ 1.0 (기본값 0.1)
+ *   load.formats            정상 엔드포인트의 압축 포맷 비중, 포맷:가중치 목록 (기본값 zip:1,tar.gz:1,tar.zst:1)
+ *   load.minThroughputGain  이 비율 이상 처리량이 늘지 않으면 포화로 판단 (기본값 0.05)
+ *   load.maxErrorRate       정상 엔드포인트 오류율이 이 값을 넘으면 포화로 판단 (기본값 0.01)
+ */
+public class LoadTestHarness {
+
+    private static final String SUCCESS_PATH = "/api/threads/create-files-with-service-and-download";
+    private static final String FAILURE_PATH = "/api/threads/create-files-with-failure-and-download";
+    private static final String SYSTEM_INFO_PATH = "/api/threads/system-info";
+
+    private final String baseUrl = System.getProperty("load.baseUrl", "http://localhost:8080");
+    private final int startConcurrency = Integer.getInteger("load.startConcurrency", 1);
+    private final int maxConcurrency = Integer.getInteger("load.maxConcurrency", 64);
+    private final int stepSeconds = Integer.getInteger("load.stepSeconds", 20);
+    private final double failureRatio = Double.parseDouble(System.getProperty("load.failureRatio", "0.1"));
+    private final double minThroughputGain = Double.parseDouble(System.getProperty("load.minThroughputGain", "0.05"));
+    private final double maxErrorRate = Double.parseDouble(System.getProperty("load.maxErrorRate", "0.01"));
+    private final Map<String, Double> formatWeights = parseFormatWeights(
+            System.getProperty("load.formats", "zip:1,tar.gz:1,tar.zst:1"));
+    private final double totalFormatWeight = formatWeights.values().stream().mapToDouble(Double::doubleValue).sum();
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        new LoadTestHarness().run();
+    }
+
+    public void run() throws Exception {
+        validate();
+        System.out.printf("부하 테스트 시작: %s (동시성 %d → %d, 단계 %ds, 실패 비율 %.2f, 포맷 비중 %s)%n",
+                baseUrl, startConcurrency, maxConcurrency, stepSeconds, failureRatio, formatWeights);
+
+        List<StepResult> results = new ArrayList<>();
+        StepResult best = null;
+        StepResult saturation = null;
+        boolean failedFromFirstStep = false;
+
+        // 포화 판단은 정상 엔드포인트 기준 (실패 시나리오는 즉시 실패하므로 지연/처리량 분포가 다름)
+        for (int concurrency = startConcurrency; concurrency <= maxConcurrency; concurrency *= 2) {
+            StepResult result = runStep(concurrency);
+            results.add(result);
+            result.print();
+
+            if (result.successErrorRate() > maxErrorRate) {
+                failedFromFirstStep = best == null;
+                saturation = best;
+                break;
+            }
+            if (best != null && result.successThroughput() < best.successThroughput() * (1 + minThroughputGain)) {
+                saturation = best;
+                break;
+            }
+            best = result;
+        }
+
+        System.out.println();
+        System.out.println("===== 요약 (정상 엔드포인트) =====");
+        System.out.println("동시성 | 처리량(req/s) | p50(ms) | p99(ms) | 오류율 | 힙 사용(MB) | GC 횟수 | GC 시간(ms)");
+        for (StepResult result : results) {
+            System.out.printf("%6d | %13.1f | %7.1f | %7.1f | %6.3f | %11.1f | %7d | %11d%n",
+                    result.concurrency(), result.successThroughput(),
+                    result.successHistogram().getValueAtPercentile(50) / 1000.0,
+                    result.successHistogram().getValueAtPercentile(99) / 1000.0,
+                    result.successErrorRate(), result.heapUsedBytes() / (1024.0 * 1024.0),
+                    result.gcCount(), result.gcTimeMs());
+        }
+        if (failedFromFirstStep) {
+            StepResult first = results.get(0);
+            System.out.printf("첫 단계(동시성 %d)부터 오류율 %.3f 이 기준 %.3f 을 넘어 포화 지점을 판단할 수 없습니다.%n",
+                    first.concurrency(), first.successErrorRate(), maxErrorRate);
+        } else if (saturation != null) {
+            System.out.printf("포화 지점: 동시성 %d (처리량 %.1f req/s)%n",
+                    saturation.concurrency(), saturation.successThroughput());
+        } else {
+            System.out.printf("최대 동시성 %d 까지 포화되지 않았습니다.%n", maxConcurrency);
+        }
+    }
+
+    /**
+     * 설정값 확인 (잘못된 값은 스레드 풀 생성 등에서 알아보기 어려운 오류가 되므로 먼저 거름)
+     */
+    private void validate() {
+        if (startConcurrency < 1) {
+            throw new IllegalArgumentException("load.startConcurrency는 1 이상이어야 합니다: " + startConcurrency);
+        }
+        if (maxConcurrency < startConcurrency) {
+            throw new IllegalArgumentException("load.maxConcurrency는 load.startConcurrency 이상이어야 합니다: " + maxConcurrency);
+        }
+        if (stepSeconds < 1) {
+            throw new IllegalArgumentException("load.stepSeconds는 1 이상이어야 합니다: " + stepSeconds);
+        }
+        if (failureRatio < 0 || failureRatio > 1) {
+            throw new IllegalArgumentException("load.failureRatio는 0.0 ~ 1.0 사이여야 합니다: " + failureRatio);
+        }
+    }
+
+    /**
+     * "zip:5,tar.gz:3,tar.zst" 형식의 포맷 비중 파싱 (가중치 생략 시 1)
+     */
+    private static Map<String, Double> parseFormatWeights(String value) {
+        Map<String, Double> weights = new LinkedHashMap<>();
+        for (String item : value.split(",")) {
+            if (item.isBlank()) {
+                continue;
+            }
+            String[] parts = item.trim().split(":");
+            double weight;
+            try {
+                weight = parts.length > 1 ? Double.parseDouble(parts[1].trim()) : 1.0;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("load.formats 가중치가 숫자가 아닙니다: " + item);
+            }
+            if (weight <= 0) {
+                throw new IllegalArgumentException("load.formats 가중치는 0보다 커야 합니다: " + item);
+            }
+            weights.put(parts[0].trim(), weight);
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("load.formats에 포맷이 하나 이상 필요합니다: " + value);
+        }
+        return weights;
+    }
+
+    /**
+     * 비중에 따라 이번 요청의 압축 포맷 선택
+     */
+    private String pickFormat() {
+        double point = ThreadLocalRandom.current().nextDouble() * totalFormatWeight;
+        String picked = null;
+        for (Map.Entry<String, Double> entry : formatWeights.entrySet()) {
+            picked = entry.getKey();
+            point -= entry.getValue();
+            if (point < 0) {
+                break;
+            }
+        }
+        return picked;
+    }
+
+    /**
+     * 주어진 동시성으로 stepSeconds 동안 요청을 반복
+     */
+    private StepResult runStep(int concurrency) throws Exception {
+        Recorder successRecorder = new Recorder(3);
+        Recorder failureRecorder = new Recorder(3);
+        AtomicLong successRequests = new AtomicLong();
+        AtomicLong successErrors = new AtomicLong();
+        AtomicLong failureRequests = new AtomicLong();
+        AtomicLong unexpectedFailureResponses = new AtomicLong();
+        AtomicLong bytesReceived = new AtomicLong();
+        Map<String, FormatStats> formatStats = new LinkedHashMap<>();
+        for (String format : formatWeights.keySet()) {
+            formatStats.put(format, new FormatStats());
+        }
+        ServerStats before = fetchServerStats();
+
+        long stepStart = System.nanoTime();
+        long deadline = stepStart + TimeUnit.SECONDS.toNanos(stepSeconds);
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    boolean failureScenario = ThreadLocalRandom.current().nextDouble() < failureRatio;
+                    String format = failureScenario ? null : pickFormat();
+                    String path = failureScenario ? FAILURE_PATH
+                            : SUCCESS_PATH + "?format=" + URLEncoder.encode(format, StandardCharsets.UTF_8);
+                    long start = System.nanoTime();
+                    int status;
+                    long bodyBytes = 0;
+                    try {
+                        HttpResponse<byte[]> response = httpClient.send(
+                                HttpRequest.newBuilder(URI.create(baseUrl + path))
+                                        .timeout(Duration.ofSeconds(60))
+                                        .GET()
+                                        .build(),
+                                HttpResponse.BodyHandlers.ofByteArray());
+                        status = response.statusCode();
+                        bodyBytes = response.body().length;
+                        bytesReceived.addAndGet(bodyBytes);
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+
+                    // 실패 시나리오 엔드포인트는 500 응답이 정상 동작
+                    if (failureScenario) {
+                        failureRecorder.recordValue(latencyMicros);
+                        failureRequests.incrementAndGet();
+                        if (status != 500) {
+                            unexpectedFailureResponses.incrementAndGet();
+                        }
+                    } else {
+                        successRecorder.recordValue(latencyMicros);
+                        successRequests.incrementAndGet();
+                        FormatStats stats = formatStats.get(format);
+                        stats.recorder.recordValue(latencyMicros);
+                        if (status != 200) {
+                            successErrors.incrementAndGet();
+                            stats.errors.incrementAndGet();
+                        } else {
+                            stats.bytes.addAndGet(bodyBytes);
+                        }
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(stepSeconds + 120L, TimeUnit.SECONDS);
+
+        // 마감 시각에 진행 중이던 요청도 집계되므로 실제 경과 시간으로 나눔
+        double elapsedSeconds = (System.nanoTime() - stepStart) / 1_000_000_000.0;
+        ServerStats after = fetchServerStats();
+        Map<String, Histogram> formatHistograms = new LinkedHashMap<>();
+        Map<String, Long> formatErrors = new LinkedHashMap<>();
+        Map<String, Long> formatBytes = new LinkedHashMap<>();
+        formatStats.forEach((format, stats) -> {
+            formatHistograms.put(format, stats.recorder.getIntervalHistogram());
+            formatErrors.put(format, stats.errors.get());
+            formatBytes.put(format, stats.bytes.get());
+        });
+        return new StepResult(
+                concurrency,
+                successRecorder.getIntervalHistogram(),
+                failureRecorder.getIntervalHistogram(),
+                elapsedSeconds,
+                successRequests.get() / elapsedSeconds,
+                successRequests.get() == 0 ? 0 : successErrors.get() / (double) successRequests.get(),
+                failureRequests.get() == 0 ? 0 : unexpectedFailureResponses.get() / (double) failureRequests.get(),
+                bytesReceived.get(),
+                formatHistograms,
+                formatErrors,
+                formatBytes,
+                after.heapUsedBytes(),
+                after.gcCount() - before.gcCount(),
+                after.gcTimeMs() - before.gcTimeMs());
+    }
+
+    /**
+     * 대상 애플리케이션의 /system-info 에서 힙 사용량과 누적 GC 횟수/시간 조회
+     */
+    private ServerStats fetchServerStats() {
+        try {
+            HttpResponse<String> response = httpClient.send(
+                    HttpRequest.newBuilder(URI.create(baseUrl + SYSTEM_INFO_PATH)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            JsonNode info = objectMapper.readTree(response.body());
+            long gcCount = 0;
+            long gcTimeMs = 0;
+            for (JsonNode collector : info.path("garbageCollectors")) {
+                gcCount += collector.path("collectionCount").asLong();
+                gcTimeMs += collector.path("collectionTimeMs").asLong();
+            }
+            return new ServerStats(info.path("memory").path("heapUsed").asLong(), gcCount, gcTimeMs);
+        } catch (Exception e) {
+            return new ServerStats(-1, 0, 0);
+        }
+    }
+
+    private record ServerStats(long heapUsedBytes, long gcCount, long gcTimeMs) {
+    }
+
+    private static class FormatStats {
+        private final Recorder recorder = new Recorder(3);
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+    }
+
+    private record StepResult(int concurrency, Histogram successHistogram, Histogram failureHistogram,
+                              double elapsedSeconds, double successThroughput, double successErrorRate,
+                              double failureScenarioErrorRate, long bytesReceived,
+                              Map<String, Histogram> formatHistograms, Map<String, Long> formatErrors,
+                              Map<String, Long> formatBytes, long heapUsedBytes,
+                              long gcCount, long gcTimeMs) {
+
+        void print() {
+            System.out.printf("[동시성 %d] %.1fs 동안 정상 %d 건 (%.1f req/s, 오류율 %.3f), 실패 시나리오 %d 건 (예상 외 응답 비율 %.3f), 수신 %d bytes%n",
+                    concurrency, elapsedSeconds, successHistogram.getTotalCount(), successThroughput, successErrorRate,
+                    failureHistogram.getTotalCount(), failureScenarioErrorRate, bytesReceived);
+            System.out.printf("  정상 지연(ms) p50=%.1f p90=%.1f p99=%.1f max=%.1f%n",
+                    successHistogram.getValueAtPercentile(50) / 1000.0,
+                    successHistogram.getValueAtPercentile(90) / 1000.0,
+                    successHistogram.getValueAtPercentile(99) / 1000.0,
+                    successHistogram.getMaxValue() / 1000.0);
+            formatHistograms.forEach((format, histogram) -> {
+                long requests = histogram.getTotalCount();
+                long succeeded = requests - formatErrors.get(format);
+                System.out.printf("    %-8s %d 건, 오류 %d, 평균 응답 %.1f KB, p50=%.1f p99=%.1f ms%n",
+                        format, requests, formatErrors.get(format),
+                        succeeded == 0 ? 0 : formatBytes.get(format) / 1024.0 / succeeded,
+                        histogram.getValueAtPercentile(50) / 1000.0,
+                        histogram.getValueAtPercentile(99) / 1000.0);
+            });
+            if (failureHistogram.getTotalCount() > 0) {
+                System.out.printf("  실패 시나리오 지연(ms) p50=%.1f p99=%.1f%n",
+                        failureHistogram.getValueAtPercentile(50) / 1000.0,
+                        failureHistogram.getValueAtPercentile(99) / 1000.0);
+            }
+            System.out.printf("  힙 사용 %.1f MB, GC %d회 (%d ms)%n",
+                    heapUsedBytes / (1024.0 * 1024.0), gcCount, gcTimeMs);
+        }
+    }
+}
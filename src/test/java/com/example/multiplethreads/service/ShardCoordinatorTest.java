@@ -0,0 +1,254 @@
+package com.example.multiplethreads.service;
+
+import com.example.multiplethreads.MultipleThreadsApplication;
+import com.example.multiplethreads.util.CompressedEntry;
+import com.example.multiplethreads.util.FileUtil;
+import com.example.multiplethreads.util.ZipEntryCache;
+import com.example.multiplethreads.util.archive.ArchiveFormats;
+import com.example.multiplethreads.util.archive.CachedZipArchiveFormat;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * localhost에 워커 인스턴스 두 개를 띄우고 코디네이터가 샤드를 분배하는지 확인
+ */
+class ShardCoordinatorTest {
+
+    private static final String DEAD_WORKER_URL = "http://localhost:1";
+
+    private static final List<ConfigurableApplicationContext> workers = new ArrayList<>();
+    private static final List<String> workerUrls = new ArrayList<>();
+
+    @BeforeAll
+    static void startWorkers() {
+        for (int i = 0; i < 2; i++) {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(MultipleThreadsApplication.class)
+                    .run("--server.port=0");
+            workers.add(context);
+            workerUrls.add("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+        }
+    }
+
+    @AfterAll
+    static void stopWorkers() {
+        workers.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void testShardsAreSplicedFromWorkers() throws Exception {
+        List<String> urls = new ArrayList<>(workerUrls);
+        urls.add(DEAD_WORKER_URL);
+        ShardCoordinator coordinator = new ShardCoordinator(urls, 5, 60, 30, 8);
+        ThreadCompletionService service = newService(coordinator);
+
+        try {
+            byte[] zipData = service.createFilesWithShardsAndCompress();
+
+            assertEquals(FileGenerationService.TASK_COUNT, countEntries(zipData));
+
+            // 죽은 워커는 dead로 표시되고, 모든 샤드는 살아있는 워커가 처리
+            long dispatched = 0;
+            for (Map<String, Object> status : coordinator.getWorkerStatus()) {
+                if (DEAD_WORKER_URL.equals(status.get("url"))) {
+                    assertEquals(false, status.get("healthy"));
+                    assertEquals(0L, status.get("dispatchedShards"));
+                } else {
+                    assertEquals(true, status.get("healthy"));
+                    dispatched += (Long) status.get("dispatchedShards");
+                }
+            }
+            assertEquals(FileGenerationService.TASK_COUNT, dispatched);
+        } finally {
+            service.shutdown();
+            coordinator.shutdown();
+        }
+    }
+
+    @Test
+    void testFallsBackToLocalGenerationWithoutWorkers() throws Exception {
+        ShardCoordinator coordinator = new ShardCoordinator(List.of(DEAD_WORKER_URL), 5, 60, 30, 8);
+        ThreadCompletionService service = newService(coordinator);
+
+        try {
+            byte[] zipData = service.createFilesWithShardsAndCompress();
+
+            assertEquals(FileGenerationService.TASK_COUNT, countEntries(zipData));
+        } finally {
+            service.shutdown();
+            coordinator.shutdown();
+        }
+    }
+
+    @Test
+    void testHungWorkerIsBypassedWithinDeadline() throws Exception {
+        // 연결은 받지만 응답하지 않는 워커
+        try (ServerSocket hungWorker = new ServerSocket(0)) {
+            String hungUrl = "http://localhost:" + hungWorker.getLocalPort();
+            ShardCoordinator coordinator = new ShardCoordinator(
+                    List.of(hungUrl, workerUrls.get(0)), 2, 60, 20, 8);
+            ThreadCompletionService service = newService(coordinator);
+
+            try {
+                long start = System.nanoTime();
+                byte[] zipData = service.createFilesWithShardsAndCompress();
+                long elapsedSeconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start);
+
+                assertEquals(FileGenerationService.TASK_COUNT, countEntries(zipData));
+                assertTrue(elapsedSeconds < 20, "응답하지 않는 워커 때문에 제한 시간을 넘김: " + elapsedSeconds + "s");
+                for (Map<String, Object> status : coordinator.getWorkerStatus()) {
+                    if (hungUrl.equals(status.get("url"))) {
+                        assertEquals(false, status.get("healthy"));
+                    } else {
+                        assertEquals((long) FileGenerationService.TASK_COUNT, status.get("dispatchedShards"));
+                    }
+                }
+            } finally {
+                service.shutdown();
+                coordinator.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void testFailedHealthCheckDoesNotCountAsNewFailure() throws Exception {
+        // 재시도 간격 0: 두 번째 요청에서는 dead 워커에 헬스체크만 시도
+        ShardCoordinator coordinator = new ShardCoordinator(List.of(DEAD_WORKER_URL), 5, 0, 30, 2);
+        ThreadCompletionService service = newService(coordinator);
+
+        try {
+            coordinator.fetchShards(List.of(1), service::createShardSegment);
+            coordinator.fetchShards(List.of(2), service::createShardSegment);
+
+            Map<String, Object> status = coordinator.getWorkerStatus().get(0);
+            assertEquals(false, status.get("healthy"));
+            assertEquals(1L, status.get("failures"));
+        } finally {
+            service.shutdown();
+            coordinator.shutdown();
+        }
+    }
+
+    @Test
+    void testConcurrentShardsDoNotSkipHealthyWorker() throws Exception {
+        // 정상 워커 하나 + 응답하지 않는 워커 하나에 많은 샤드를 동시에 보내도 로컬 생성으로 빠지지 않아야 함
+        // (재시도 간격 0: 응답하지 않는 워커는 선택될 때마다 헬스체크로 시간을 쓰고, 그동안 다른 스레드가 순번을 진행시킴)
+        try (ServerSocket hungWorker = new ServerSocket(0)) {
+            String healthyUrl = workerUrls.get(0);
+            String hungUrl = "http://localhost:" + hungWorker.getLocalPort();
+            ShardCoordinator coordinator = new ShardCoordinator(List.of(healthyUrl, hungUrl), 1, 0, 60, 16);
+            ThreadCompletionService service = newService(coordinator);
+            AtomicInteger localShards = new AtomicInteger();
+
+            try {
+                List<Integer> taskIds = new ArrayList<>();
+                for (int i = 0; i < 64; i++) {
+                    taskIds.add(i % FileGenerationService.TASK_COUNT + 1);
+                }
+                coordinator.fetchShards(taskIds, taskId -> {
+                    localShards.incrementAndGet();
+                    return service.createShardSegment(taskId);
+                });
+
+                assertEquals(0, localShards.get());
+                for (Map<String, Object> status : coordinator.getWorkerStatus()) {
+                    if (healthyUrl.equals(status.get("url"))) {
+                        assertEquals((long) taskIds.size(), status.get("dispatchedShards"));
+                    }
+                }
+            } finally {
+                service.shutdown();
+                coordinator.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void testMismatchedShardIsRedispatched() throws Exception {
+        // 압축 데이터는 정상이지만 CRC 헤더가 틀린 워커
+        HttpServer badWorker = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        badWorker.createContext(ShardCoordinator.SHARD_PATH, exchange -> {
+            Path file = FileUtil.createTempFile("bad_", ".txt", "bad worker content");
+            CompressedEntry entry;
+            try {
+                entry = CompressedEntry.compress("report.txt", file);
+            } finally {
+                FileUtil.cleanupTempFiles(List.of(file));
+            }
+            exchange.getResponseHeaders().set(ShardCoordinator.FILE_NAME_HEADER, entry.getName());
+            exchange.getResponseHeaders().set(ShardCoordinator.CRC_HEADER, String.valueOf(entry.getCrc() + 1));
+            exchange.getResponseHeaders().set(ShardCoordinator.UNCOMPRESSED_SIZE_HEADER,
+                    String.valueOf(entry.getUncompressedSize()));
+            exchange.sendResponseHeaders(200, entry.getCompressedSize());
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(entry.getCompressedData());
+            }
+        });
+        badWorker.start();
+
+        String badUrl = "http://localhost:" + badWorker.getAddress().getPort();
+        ShardCoordinator coordinator = new ShardCoordinator(List.of(badUrl, workerUrls.get(0)), 5, 60, 30, 8);
+        ThreadCompletionService service = newService(coordinator);
+
+        try {
+            byte[] zipData = service.createFilesWithShardsAndCompress();
+
+            // ZipInputStream은 엔트리를 끝까지 읽을 때 CRC를 검사
+            try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zipData))) {
+                ZipEntry entry;
+                while ((entry = zis.getNextEntry()) != null) {
+                    String content = new String(zis.readAllBytes(), StandardCharsets.UTF_8);
+                    assertFalse(content.contains("bad worker"), entry.getName());
+                }
+            }
+            for (Map<String, Object> status : coordinator.getWorkerStatus()) {
+                if (badUrl.equals(status.get("url"))) {
+                    assertEquals(false, status.get("healthy"));
+                    assertEquals(0L, status.get("dispatchedShards"));
+                } else {
+                    assertEquals((long) FileGenerationService.TASK_COUNT, status.get("dispatchedShards"));
+                }
+            }
+        } finally {
+            service.shutdown();
+            coordinator.shutdown();
+            badWorker.stop(0);
+        }
+    }
+
+    private static ThreadCompletionService newService(ShardCoordinator coordinator) {
+        ZipEntryCache cache = new ZipEntryCache(1024 * 1024);
+        return new ThreadCompletionService(new FileGenerationService(), coordinator,
+                new ArchiveFormats(new CachedZipArchiveFormat(cache)), cache);
+    }
+
+    private static int countEntries(byte[] zipData) throws Exception {
+        int count = 0;
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zipData))) {
+            while (zis.getNextEntry() != null) {
+                zis.readAllBytes();
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.multiplethreads.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SystemInfoServiceTest {
+
+    @Test
+    void testGcPausesAreRecordedPerCollector() throws Exception {
+        SystemInfoService service = new SystemInfoService(System.getProperty("java.io.tmpdir"));
+        try {
+            System.gc();
+
+            // GC 알림은 별도 스레드에서 전달되므로 잠시 대기
+            long observed = 0;
+            for (int i = 0; i < 50 && observed == 0; i++) {
+                Thread.sleep(100);
+                observed = observedPauses(service.getGarbageCollectorInfo());
+            }
+
+            assertTrue(observed > 0, "GC 알림을 받지 못함");
+            for (Map<String, Object> collector : service.getGarbageCollectorInfo()) {
+                long lastPauseMs = (Long) collector.get("lastPauseMs");
+                long maxPauseMs = (Long) collector.get("maxPauseMs");
+                assertTrue(lastPauseMs >= 0 && maxPauseMs >= lastPauseMs, collector.toString());
+            }
+        } finally {
+            service.removeGcListener();
+        }
+    }
+
+    private static long observedPauses(List<Map<String, Object>> collectors) {
+        return collectors.stream().mapToLong(collector -> (Long) collector.get("observedPauses")).sum();
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.multiplethreads.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileUtilTest {
+
+    @Test
+    void testSpliceZipArchiveIsReadable() throws Exception {
+        Path report = FileUtil.createTempFile("report_", ".txt", "report content");
+        Path csv = FileUtil.createTempFile("data_", ".csv", "ID,Name,Value\n1,Item1,100");
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            FileUtil.spliceZipArchive(List.of(
+                    CompressedEntry.compress("report.txt", report),
+                    CompressedEntry.compress("data.csv", csv)), out);
+
+            Map<String, String> contents = readZip(out.toByteArray());
+            assertEquals(2, contents.size());
+            assertEquals("report content", contents.get("report.txt"));
+            assertEquals("ID,Name,Value\n1,Item1,100", contents.get("data.csv"));
+        } finally {
+            FileUtil.cleanupTempFiles(List.of(report, csv));
+        }
+    }
+
+    @Test
+    void testSpliceZipArchiveRejectsDuplicateNames() throws Exception {
+        Path report = FileUtil.createTempFile("report_", ".txt", "report content");
+        try {
+            CompressedEntry entry = CompressedEntry.compress("report.txt", report);
+
+            assertThrows(ZipException.class,
+                    () -> FileUtil.spliceZipArchive(List.of(entry, entry), new ByteArrayOutputStream()));
+        } finally {
+            FileUtil.cleanupTempFiles(List.of(report));
+        }
+    }
+
+    @Test
+    void testSpliceZipArchiveWritesZip64EndRecordForManyEntries() throws Exception {
+        Path empty = FileUtil.createTempFile("empty_", ".txt", "");
+        Path zip = Files.createTempFile("many_", ".zip");
+        try {
+            CompressedEntry template = CompressedEntry.compress("empty.txt", empty);
+            int count = 70_000; // 16비트 엔트리 수 필드 초과
+            List<CompressedEntry> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                entries.add(new CompressedEntry("e" + i, template.getCrc(), 0, template.getCompressedData()));
+            }
+            try (OutputStream out = Files.newOutputStream(zip)) {
+                FileUtil.spliceZipArchive(entries, out);
+            }
+
+            try (ZipFile zipFile = new ZipFile(zip.toFile())) {
+                assertEquals(count, zipFile.size());
+                assertNotNull(zipFile.getEntry("e69999"));
+            }
+        } finally {
+            FileUtil.cleanupTempFiles(List.of(empty, zip));
+        }
+    }
+
+    @Test
+    void testVerifyDetectsMismatchedEntry() throws Exception {
+        Path file = FileUtil.createTempFile("verify_", ".txt", "verify content");
+        try {
+            CompressedEntry entry = CompressedEntry.compress("verify.txt", file);
+            entry.verify();
+
+            byte[] data = entry.getCompressedData();
+            assertThrows(ZipException.class, () -> new CompressedEntry(
+                    entry.getName(), entry.getCrc() ^ 1, entry.getUncompressedSize(), data).verify());
+            assertThrows(ZipException.class, () -> new CompressedEntry(
+                    entry.getName(), entry.getCrc(), entry.getUncompressedSize() + 1, data).verify());
+            assertThrows(ZipException.class, () -> new CompressedEntry(
+                    entry.getName(), entry.getCrc(), entry.getUncompressedSize(),
+                    Arrays.copyOf(data, data.length / 2)).verify());
+        } finally {
+            FileUtil.cleanupTempFiles(List.of(file));
+        }
+    }
+
+    @Test
+    void testCacheSkipsCompressionForSameContent() throws Exception {
+        ZipEntryCache cache = new ZipEntryCache(1024 * 1024);
+        Path first = FileUtil.createTempFile("report_", ".txt", "report content");
+        Path second = FileUtil.createTempFile("report_", ".txt", "report content");
+        Path changed = FileUtil.createTempFile("report_", ".txt", "report content 2");
+        AtomicInteger compressed = new AtomicInteger();
+        try {
+            CompressedEntry a = compressCached(cache, "report.txt", first, compressed);
+            CompressedEntry b = compressCached(cache, "report.txt", second, compressed);
+            CompressedEntry c = compressCached(cache, "report.txt", changed, compressed);
+            // 내용이 같아도 이름이 다르면 다른 엔트리
+            CompressedEntry d = compressCached(cache, "copy.txt", first, compressed);
+
+            assertSame(a, b);
+            assertNotSame(a, c);
+            assertEquals("copy.txt", d.getName());
+            assertEquals(3, compressed.get());
+            assertEquals(1, cache.getHits());
+            assertEquals(3, cache.getMisses());
+        } finally {
+            FileUtil.cleanupTempFiles(List.of(first, second, changed));
+        }
+    }
+
+    @Test
+    void testCacheIsBoundedByCompressedBytes() throws Exception {
+        ZipEntryCache cache = new ZipEntryCache(250);
+        for (int i = 0; i < 5; i++) {
+            cache.getOrCompress("key-" + i, () -> new CompressedEntry("entry", 0, 0, new byte[100]));
+        }
+        cache.getOrCompress("too-large", () -> new CompressedEntry("large", 0, 0, new byte[300]));
+
+        assertEquals(2, cache.size());
+        assertEquals(200, cache.getTotalBytes());
+    }
+
+    private static CompressedEntry compressCached(ZipEntryCache cache, String name, Path file,
+                                                  AtomicInteger compressed) throws Exception {
+        return cache.getOrCompress(ZipEntryCache.fingerprint(name, file), () -> {
+            compressed.incrementAndGet();
+            return CompressedEntry.compress(name, file);
+        });
+    }
+
+    private static Map<String, String> readZip(byte[] zipData) throws Exception {
+        Map<String, String> contents = new HashMap<>();
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zipData))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                contents.put(entry.getName(), new String(zis.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return contents;
+    }
+}
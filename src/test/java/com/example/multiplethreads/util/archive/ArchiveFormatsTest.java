@@ -0,0 +1,104 @@
+package com.example.multiplethreads.util.archive;
+
+import com.example.multiplethreads.util.FileUtil;
+import com.example.multiplethreads.util.ZipEntryCache;
+import com.github.luben.zstd.ZstdInputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArchiveFormatsTest {
+
+    private final ArchiveFormats formats = new ArchiveFormats(
+            new ZipArchiveFormat(),
+            new TarGzipArchiveFormat(),
+            new TarZstdArchiveFormat(3, 2, 0));
+
+    @Test
+    void testResolveFormat() {
+        assertEquals("zip", formats.resolve(null, null).getName());
+        assertEquals("tar.gz", formats.resolve("TAR.GZ", "application/zstd").getName());
+        assertEquals("tar.zst", formats.resolve(null, "text/html, application/zstd;q=0.9").getName());
+        assertEquals("zip", formats.resolve(null, "text/html,*/*;q=0.8").getName());
+        // q 값이 높은 타입 우선, q=0은 허용하지 않음
+        assertEquals("tar.gz", formats.resolve(null, "application/zstd;q=0.5, application/gzip").getName());
+        assertEquals("zip", formats.resolve(null, "application/zstd;q=0").getName());
+        assertEquals("tar.gz", formats.resolve(null, "application/zstd;q=0, application/gzip;q=0.1").getName());
+        assertEquals("zip", formats.resolve(null, "not a media type").getName());
+        assertThrows(IllegalArgumentException.class, () -> formats.resolve("rar", null));
+    }
+
+    @Test
+    void testTarGzipRoundTrip() throws Exception {
+        assertTarRoundTrip(formats.resolve("tar.gz", null), GZIPInputStream::new);
+    }
+
+    @Test
+    void testTarZstdRoundTrip() throws Exception {
+        assertTarRoundTrip(formats.resolve("tar.zst", null), ZstdInputStream::new);
+    }
+
+    @Test
+    void testCachedZipReusesUnchangedEntries() throws Exception {
+        ZipEntryCache cache = new ZipEntryCache(1024 * 1024);
+        ArchiveFormat format = new CachedZipArchiveFormat(cache);
+        Path report = FileUtil.createTempFile("report_", ".txt", "report content");
+        try {
+            for (int i = 0; i < 2; i++) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                format.write(List.of(new ArchiveSource("report.txt", report)), out);
+
+                try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+                    assertEquals("report.txt", zis.getNextEntry().getName());
+                    assertEquals("report content", new String(zis.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+            assertEquals(1, cache.getMisses());
+            assertEquals(1, cache.getHits());
+        } finally {
+            FileUtil.cleanupTempFiles(List.of(report));
+        }
+    }
+
+    private static void assertTarRoundTrip(ArchiveFormat format, Decompressor decompressor) throws Exception {
+        Path report = FileUtil.createTempFile("report_", ".txt", "report content");
+        Path csv = FileUtil.createTempFile("data_", ".csv", "ID,Name,Value\n1,Item1,100");
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            format.write(List.of(new ArchiveSource("report.txt", report), new ArchiveSource("data.csv", csv)), out);
+
+            Map<String, String> contents = new HashMap<>();
+            try (TarArchiveInputStream tar = new TarArchiveInputStream(
+                    decompressor.open(new ByteArrayInputStream(out.toByteArray())))) {
+                TarArchiveEntry entry;
+                while ((entry = tar.getNextEntry()) != null) {
+                    contents.put(entry.getName(), new String(tar.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+
+            assertEquals(2, contents.size());
+            assertEquals("report content", contents.get("report.txt"));
+            assertEquals("ID,Name,Value\n1,Item1,100", contents.get("data.csv"));
+        } finally {
+            FileUtil.cleanupTempFiles(List.of(report, csv));
+        }
+    }
+
+    @FunctionalInterface
+    private interface Decompressor {
+        InputStream open(InputStream in) throws Exception;
+    }
+}